@@ -1,7 +1,10 @@
 package com.ecommerce.api.v1;
 
 import com.ecommerce.application.dto.cart.AddToCartRequest;
+import com.ecommerce.application.dto.cart.BulkAddToCartRequest;
 import com.ecommerce.application.dto.cart.CartDto;
+import com.ecommerce.application.dto.cart.CartLinesResponse;
+import com.ecommerce.application.dto.cart.CartMutationDto;
 import com.ecommerce.application.service.CartService;
 import com.ecommerce.domain.user.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -12,14 +15,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Arrays;
+import java.util.UUID;
+
 /**
  * Cart controller for shopping cart operations.
+ * <p>
+ * Item changes by a signed-in user honour {@code Prefer: return=minimal}: instead of the whole cart the
+ * response carries only the changed line and the new totals.
  */
 @RestController
 @RequestMapping("/api/v1/cart")
 @Tag(name = "Shopping Cart", description = "Shopping cart operations")
 public class CartController {
 
+    private static final String PREFER_MINIMAL = "return=minimal";
+
     private final CartService cartService;
 
     public CartController(CartService cartService) {
@@ -40,33 +51,63 @@ public class CartController {
 
     @PostMapping("/items")
     @Operation(summary = "Add item to cart")
-    public ResponseEntity<CartDto> addToCart(
+    public ResponseEntity<?> addToCart(
             @Valid @RequestBody AddToCartRequest request,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @AuthenticationPrincipal User user,
             HttpSession session) {
 
         if (user != null) {
+            if (prefersMinimal(prefer)) {
+                return minimal(cartService.addToCartLine(user, request));
+            }
             return ResponseEntity.ok(cartService.addToCart(user, request));
         }
         return ResponseEntity.ok(cartService.addToCartBySession(session.getId(), request));
     }
 
+    @PostMapping("/items/bulk")
+    @Operation(summary = "Add many items to cart by product id or SKU")
+    public ResponseEntity<CartLinesResponse> addToCartBulk(
+            @Valid @RequestBody BulkAddToCartRequest request,
+            @AuthenticationPrincipal User user) {
+
+        return ResponseEntity.ok(cartService.addToCartBulk(user, request));
+    }
+
+    @PostMapping("/reorder/{orderId}")
+    @Operation(summary = "Add the items of a previous order to cart")
+    public ResponseEntity<CartLinesResponse> reorder(
+            @PathVariable UUID orderId,
+            @AuthenticationPrincipal User user) {
+
+        return ResponseEntity.ok(cartService.reorder(user, orderId));
+    }
+
     @PutMapping("/items/{itemId}")
     @Operation(summary = "Update cart item quantity")
-    public ResponseEntity<CartDto> updateCartItem(
+    public ResponseEntity<?> updateCartItem(
             @PathVariable String itemId,
             @RequestParam int quantity,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @AuthenticationPrincipal User user) {
 
+        if (prefersMinimal(prefer)) {
+            return minimal(cartService.updateCartItemLine(user, itemId, quantity));
+        }
         return ResponseEntity.ok(cartService.updateCartItem(user, itemId, quantity));
     }
 
     @DeleteMapping("/items/{itemId}")
     @Operation(summary = "Remove item from cart")
-    public ResponseEntity<CartDto> removeFromCart(
+    public ResponseEntity<?> removeFromCart(
             @PathVariable String itemId,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @AuthenticationPrincipal User user) {
 
+        if (prefersMinimal(prefer)) {
+            return minimal(cartService.removeFromCartLine(user, itemId));
+        }
         return ResponseEntity.ok(cartService.removeFromCart(user, itemId));
     }
 
@@ -79,10 +120,22 @@ public class CartController {
 
     @PostMapping("/merge")
     @Operation(summary = "Merge guest cart into user cart after login")
-    public ResponseEntity<CartDto> mergeCart(
+    public ResponseEntity<CartLinesResponse> mergeCart(
             @AuthenticationPrincipal User user,
             HttpSession session) {
 
         return ResponseEntity.ok(cartService.mergeCart(user, session.getId()));
     }
+
+    private static boolean prefersMinimal(String prefer) {
+        return prefer != null && Arrays.stream(prefer.split(","))
+                .map(String::trim)
+                .anyMatch(PREFER_MINIMAL::equalsIgnoreCase);
+    }
+
+    private static ResponseEntity<CartMutationDto> minimal(CartMutationDto mutation) {
+        return ResponseEntity.ok()
+                .header("Preference-Applied", PREFER_MINIMAL)
+                .body(mutation);
+    }
 }
@@ -1,12 +1,18 @@
 package com.ecommerce.api.v1;
 
 import com.ecommerce.application.dto.common.PagedResponse;
+import com.ecommerce.application.dto.order.BulkOrderStatusRequest;
+import com.ecommerce.application.dto.order.BulkOrderStatusResponse;
+import com.ecommerce.application.dto.order.CheckoutStatusDto;
 import com.ecommerce.application.dto.order.CreateOrderRequest;
 import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.application.service.AsyncCheckoutService;
+import com.ecommerce.application.service.OrderIdempotencyService;
 import com.ecommerce.application.service.OrderService;
 import com.ecommerce.domain.order.OrderStatus;
 import com.ecommerce.domain.user.User;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.PageRequest;
@@ -18,6 +24,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.UUID;
 
 /**
@@ -29,19 +36,51 @@ import java.util.UUID;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final AsyncCheckoutService asyncCheckoutService;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderIdempotencyService orderIdempotencyService,
+            AsyncCheckoutService asyncCheckoutService) {
         this.orderService = orderService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.asyncCheckoutService = asyncCheckoutService;
     }
 
     @PostMapping
     @Operation(summary = "Create a new order")
     public ResponseEntity<OrderDto> createOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @AuthenticationPrincipal User user,
+            @Parameter(description = "Client-generated key; retries with the same key and body return the original order")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+
+        OrderIdempotencyService.Result result = orderIdempotencyService.createOrder(user, request, idempotencyKey);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header("Idempotent-Replayed", "true");
+        }
+        return response.body(result.order());
+    }
+
+    @PostMapping("/checkout")
+    @Operation(summary = "Queue an order for asynchronous creation",
+            description = "Returns 202 with a ticket to poll, or 429 when the checkout queue is full")
+    public ResponseEntity<CheckoutStatusDto> checkout(
             @Valid @RequestBody CreateOrderRequest request,
             @AuthenticationPrincipal User user) {
 
-        OrderDto order = orderService.createOrder(user, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        CheckoutStatusDto ticket = asyncCheckoutService.submit(user, request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/orders/checkout/" + ticket.getTicketId()))
+                .body(ticket);
+    }
+
+    @GetMapping("/checkout/{ticketId}")
+    @Operation(summary = "Get the status of an asynchronous checkout")
+    public ResponseEntity<CheckoutStatusDto> getCheckoutStatus(
+            @PathVariable UUID ticketId,
+            @AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(asyncCheckoutService.getStatus(user, ticketId));
     }
 
     @GetMapping
@@ -49,7 +88,13 @@ public class OrderController {
     public ResponseEntity<PagedResponse<OrderDto>> getUserOrders(
             @AuthenticationPrincipal User user,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Keyset cursor (nextCursor of the previous page); pass an empty value to start")
+            @RequestParam(required = false) String cursor) {
+
+        if (cursor != null) {
+            return ResponseEntity.ok(orderService.getUserOrders(user, cursor, size));
+        }
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
         return ResponseEntity.ok(orderService.getUserOrders(user, pageable));
@@ -86,6 +131,16 @@ public class OrderController {
         return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
     }
 
+    @PatchMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Move many orders to one status (Admin only)",
+            description = "Orders that cannot make the transition are reported per order and left unchanged")
+    public ResponseEntity<BulkOrderStatusResponse> bulkUpdateOrderStatus(
+            @Valid @RequestBody BulkOrderStatusRequest request) {
+
+        return ResponseEntity.ok(orderService.bulkUpdateStatus(request.getOrderIds(), request.getStatus()));
+    }
+
     @PostMapping("/{id}/confirm")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Confirm order after payment (Admin only)")
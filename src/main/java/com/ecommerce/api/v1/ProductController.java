@@ -2,7 +2,10 @@ package com.ecommerce.api.v1;
 
 import com.ecommerce.application.dto.common.PagedResponse;
 import com.ecommerce.application.dto.product.CreateProductRequest;
+import com.ecommerce.application.dto.product.FacetedProductResponse;
 import com.ecommerce.application.dto.product.ProductDto;
+import com.ecommerce.application.dto.product.ProductSummaryDto;
+import com.ecommerce.application.search.ProductFacetFilter;
 import com.ecommerce.application.service.ProductService;
 import com.ecommerce.domain.user.User;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,6 +22,7 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -37,11 +41,17 @@ public class ProductController {
 
     @GetMapping
     @Operation(summary = "Get all products with pagination")
-    public ResponseEntity<PagedResponse<ProductDto>> getAllProducts(
+    public ResponseEntity<PagedResponse<ProductSummaryDto>> getAllProducts(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort by field") @RequestParam(defaultValue = "createdAt") String sortBy,
-            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Keyset cursor (nextCursor of the previous page); pass an empty value to start. "
+                    + "Cursor pages are always newest first and skip the total count") @RequestParam(required = false) String cursor) {
+
+        if (cursor != null) {
+            return ResponseEntity.ok(productService.getAllProducts(cursor, size));
+        }
 
         Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
         Pageable pageable = PageRequest.of(page, size, sort);
@@ -61,9 +71,15 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductBySlug(slug));
     }
 
+    @GetMapping("/sku/{sku}")
+    @Operation(summary = "Get product by SKU")
+    public ResponseEntity<ProductDto> getProductBySku(@PathVariable String sku) {
+        return ResponseEntity.ok(productService.getProductBySku(sku));
+    }
+
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category")
-    public ResponseEntity<PagedResponse<ProductDto>> getProductsByCategory(
+    public ResponseEntity<PagedResponse<ProductSummaryDto>> getProductsByCategory(
             @PathVariable UUID categoryId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -74,7 +90,7 @@ public class ProductController {
 
     @GetMapping("/search")
     @Operation(summary = "Search products")
-    public ResponseEntity<PagedResponse<ProductDto>> searchProducts(
+    public ResponseEntity<PagedResponse<ProductSummaryDto>> searchProducts(
             @Parameter(description = "Search query") @RequestParam String q,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
@@ -83,9 +99,30 @@ public class ProductController {
         return ResponseEntity.ok(productService.searchProducts(q, pageable));
     }
 
+    @GetMapping("/browse")
+    @Operation(summary = "Browse products with combined filters and facet counts")
+    public ResponseEntity<FacetedProductResponse> browseProducts(
+            @Parameter(description = "Category ID (includes subcategories)") @RequestParam(required = false) UUID categoryId,
+            @Parameter(description = "Price buckets, e.g. 25-50 or 500+") @RequestParam(required = false) Set<String> price,
+            @Parameter(description = "Minimum average rating") @RequestParam(required = false) Integer minRating,
+            @Parameter(description = "Only products in stock") @RequestParam(required = false) Boolean inStock,
+            @Parameter(description = "Tags") @RequestParam(required = false) Set<String> tag,
+            @Parameter(description = "Seller IDs") @RequestParam(required = false) Set<UUID> seller,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Sort by field (createdAt, price, averageRating, totalSales)") @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction") @RequestParam(defaultValue = "desc") String sortDir) {
+
+        Sort sort = sortDir.equalsIgnoreCase("asc") ? Sort.by(sortBy).ascending() : Sort.by(sortBy).descending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+        ProductFacetFilter filter = new ProductFacetFilter(categoryId, price, minRating, inStock, tag, seller);
+
+        return ResponseEntity.ok(productService.browseProducts(filter, pageable));
+    }
+
     @GetMapping("/featured")
     @Operation(summary = "Get featured products")
-    public ResponseEntity<List<ProductDto>> getFeaturedProducts() {
+    public ResponseEntity<List<ProductSummaryDto>> getFeaturedProducts() {
         return ResponseEntity.ok(productService.getFeaturedProducts());
     }
 
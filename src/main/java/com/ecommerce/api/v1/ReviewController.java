@@ -1,5 +1,7 @@
 package com.ecommerce.api.v1;
 
+import com.ecommerce.application.dto.common.PageCursor;
+import com.ecommerce.application.dto.common.PagedResponse;
 import com.ecommerce.domain.review.Review;
 import com.ecommerce.domain.user.User;
 import com.ecommerce.infrastructure.repository.ProductRepository;
@@ -45,23 +47,47 @@ public class ReviewController {
     public ResponseEntity<PagedReviewResponse> getProductReviews(
             @PathVariable UUID productId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<Review> reviews = reviewRepository.findByProductIdAndApproved(productId, true, pageable);
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
 
         PagedReviewResponse response = new PagedReviewResponse();
-        response.setContent(reviews.getContent().stream().map(this::toDto).toList());
-        response.setPage(reviews.getNumber());
-        response.setSize(reviews.getSize());
-        response.setTotalElements(reviews.getTotalElements());
-        response.setTotalPages(reviews.getTotalPages());
-        response.setAverageRating(reviewRepository.getAverageRatingByProductId(productId));
-        response.setTotalReviews(reviewRepository.countApprovedByProductId(productId));
+        if (cursor != null) {
+            PagedResponse<ReviewDto> keyset = getProductReviewsAfter(productId, cursor, size);
+            response.setContent(keyset.getContent());
+            response.setSize(size);
+            response.setNextCursor(keyset.getNextCursor());
+        } else {
+            Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+            Page<Review> reviews = reviewRepository.findByProductIdAndApproved(productId, true, pageable);
+            response.setContent(reviews.getContent().stream().map(this::toDto).toList());
+            response.setPage(reviews.getNumber());
+            response.setSize(reviews.getSize());
+            response.setTotalElements(reviews.getTotalElements());
+            response.setTotalPages(reviews.getTotalPages());
+        }
+        // Rating summary only on the first page; later keyset pages skip the aggregate scans
+        if (cursor == null || cursor.isBlank()) {
+            response.setAverageRating(reviewRepository.getAverageRatingByProductId(productId));
+            response.setTotalReviews(reviewRepository.countApprovedByProductId(productId));
+        }
 
         return ResponseEntity.ok(response);
     }
 
+    private PagedResponse<ReviewDto> getProductReviewsAfter(UUID productId, String cursor, int size) {
+        PageRequest limit = PagedResponse.keysetLimit(size);
+        boolean first = cursor.isBlank();
+        List<Review> rows;
+        if (first) {
+            rows = reviewRepository.findApprovedByProductIdFirstPage(productId, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = reviewRepository.findApprovedByProductIdAfter(productId, after.createdAt(), after.id(), limit);
+        }
+        return PagedResponse.ofKeyset(rows, size, first,
+                review -> new PageCursor(review.getCreatedAt(), review.getId()), this::toDto);
+    }
+
     @PostMapping
     @Operation(summary = "Submit a product review")
     public ResponseEntity<ReviewDto> createReview(
@@ -236,6 +262,7 @@ public class ReviewController {
         private int totalPages;
         private Double averageRating;
         private Long totalReviews;
+        private String nextCursor;
 
         public PagedReviewResponse() {
         }
@@ -306,6 +333,14 @@ public class ReviewController {
         public void setTotalReviews(Long totalReviews) {
             this.totalReviews = totalReviews;
         }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        public void setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
     }
 
     public static class CreateReviewRequest {
@@ -0,0 +1,90 @@
+package com.ecommerce.application.dto.cart;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for adding many products to the cart at once, each identified by product id or SKU.
+ */
+public class BulkAddToCartRequest {
+
+    @Valid
+    @NotEmpty(message = "At least one line is required")
+    @Size(max = 500, message = "At most 500 lines per request")
+    private List<Line> lines;
+
+    public BulkAddToCartRequest() {
+    }
+
+    public BulkAddToCartRequest(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    /**
+     * One requested product; exactly one of productId and sku is set.
+     */
+    public static class Line {
+
+        private String productId;
+
+        private String sku;
+
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantity;
+
+        public Line() {
+        }
+
+        public Line(String productId, String sku, Integer quantity) {
+            this.productId = productId;
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+
+        public String getProductId() {
+            return productId;
+        }
+
+        public void setProductId(String productId) {
+            this.productId = productId;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public void setSku(String sku) {
+            this.sku = sku;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        @JsonIgnore
+        @AssertTrue(message = "Each line needs either a product id or a SKU")
+        public boolean isIdentified() {
+            return (productId == null) != (sku == null);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.application.dto.cart;
+
+import java.util.List;
+
+/**
+ * DTO for a cart change applied line by line: the resulting cart and what happened to each requested line.
+ */
+public class CartLinesResponse {
+
+    private CartDto cart;
+    private int added;
+    private List<Result> results;
+
+    public CartLinesResponse() {
+    }
+
+    public CartLinesResponse(CartDto cart, int added, List<Result> results) {
+        this.cart = cart;
+        this.added = added;
+        this.results = results;
+    }
+
+    public CartDto getCart() {
+        return cart;
+    }
+
+    public void setCart(CartDto cart) {
+        this.cart = cart;
+    }
+
+    public int getAdded() {
+        return added;
+    }
+
+    public void setAdded(int added) {
+        this.added = added;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    /**
+     * What happened to one line.
+     */
+    public enum Outcome {
+        ADDED,
+        NOT_FOUND,
+        /** The cart's quantity plus the requested one exceeds the available stock; nothing was added */
+        INSUFFICIENT_STOCK
+    }
+
+    /**
+     * Outcome for one requested line; productId is null for an unknown SKU, and availableQuantity is
+     * reported for stock failures.
+     */
+    public record Result(String productId, String sku, int quantity, Outcome outcome, Integer availableQuantity) {
+    }
+}
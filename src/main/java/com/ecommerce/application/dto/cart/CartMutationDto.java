@@ -0,0 +1,88 @@
+package com.ecommerce.application.dto.cart;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the minimal response to a cart change: the changed line and the recomputed cart totals.
+ * {@code item} is null and {@code removedItemId} set when the change removed the line.
+ */
+public class CartMutationDto {
+
+    private String cartId;
+    private CartDto.CartItemDto item;
+    private String removedItemId;
+    private BigDecimal discountAmount;
+    private BigDecimal subtotal;
+    private BigDecimal total;
+    private int itemCount;
+
+    public CartMutationDto() {
+    }
+
+    public CartMutationDto(String cartId, CartDto.CartItemDto item, String removedItemId, BigDecimal discountAmount,
+            BigDecimal subtotal, BigDecimal total, int itemCount) {
+        this.cartId = cartId;
+        this.item = item;
+        this.removedItemId = removedItemId;
+        this.discountAmount = discountAmount;
+        this.subtotal = subtotal;
+        this.total = total;
+        this.itemCount = itemCount;
+    }
+
+    public String getCartId() {
+        return cartId;
+    }
+
+    public void setCartId(String cartId) {
+        this.cartId = cartId;
+    }
+
+    public CartDto.CartItemDto getItem() {
+        return item;
+    }
+
+    public void setItem(CartDto.CartItemDto item) {
+        this.item = item;
+    }
+
+    public String getRemovedItemId() {
+        return removedItemId;
+    }
+
+    public void setRemovedItemId(String removedItemId) {
+        this.removedItemId = removedItemId;
+    }
+
+    public BigDecimal getDiscountAmount() {
+        return discountAmount;
+    }
+
+    public void setDiscountAmount(BigDecimal discountAmount) {
+        this.discountAmount = discountAmount;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public void setItemCount(int itemCount) {
+        this.itemCount = itemCount;
+    }
+}
@@ -1,12 +1,22 @@
 package com.ecommerce.application.dto.common;
 
+import org.springframework.data.domain.PageRequest;
+
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Generic paginated response wrapper.
+ * In cursor (keyset) mode no count query is run: totalElements and totalPages are not populated and
+ * clients follow nextCursor until it is absent.
  */
 public class PagedResponse<T> {
 
+    /**
+     * Largest page a cursor request may ask for.
+     */
+    public static final int MAX_KEYSET_SIZE = 100;
+
     private List<T> content;
     private int page;
     private int size;
@@ -15,6 +25,7 @@ public class PagedResponse<T> {
     private boolean first;
     private boolean last;
     private boolean empty;
+    private String nextCursor;
 
     public PagedResponse() {
     }
@@ -44,6 +55,42 @@ public class PagedResponse<T> {
         return response;
     }
 
+    /**
+     * The limit for fetching a cursor page of {@code size} rows: one extra row tells whether another page exists.
+     */
+    public static PageRequest keysetLimit(int size) {
+        checkKeysetSize(size);
+        return PageRequest.of(0, size + 1);
+    }
+
+    /**
+     * Builds a cursor page from rows fetched with {@link #keysetLimit(int)}; the extra row only
+     * signals that another page exists.
+     */
+    public static <E, T> PagedResponse<T> ofKeyset(List<E> rows, int size, boolean first,
+            Function<E, PageCursor> cursorOf, Function<E, T> mapper) {
+        checkKeysetSize(size);
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        PagedResponse<T> response = new PagedResponse<>();
+        response.setContent(pageRows.stream().map(mapper).toList());
+        response.setSize(size);
+        response.setFirst(first);
+        response.setLast(!hasNext);
+        response.setEmpty(pageRows.isEmpty());
+        if (hasNext) {
+            response.setNextCursor(cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode());
+        }
+        return response;
+    }
+
+    private static void checkKeysetSize(int size) {
+        if (size < 1 || size > MAX_KEYSET_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_KEYSET_SIZE);
+        }
+    }
+
     // Getters and Setters
     public List<T> getContent() {
         return content;
@@ -108,4 +155,12 @@ public class PagedResponse<T> {
     public void setEmpty(boolean empty) {
         this.empty = empty;
     }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
@@ -0,0 +1,46 @@
+package com.ecommerce.application.dto.order;
+
+import com.ecommerce.domain.order.OrderStatus;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for moving many orders to one status.
+ */
+public class BulkOrderStatusRequest {
+
+    @NotEmpty(message = "At least one order id is required")
+    @Size(max = 5000, message = "At most 5000 orders per request")
+    private List<UUID> orderIds;
+
+    @NotNull(message = "Target status is required")
+    private OrderStatus status;
+
+    public BulkOrderStatusRequest() {
+    }
+
+    public BulkOrderStatusRequest(List<UUID> orderIds, OrderStatus status) {
+        this.orderIds = orderIds;
+        this.status = status;
+    }
+
+    public List<UUID> getOrderIds() {
+        return orderIds;
+    }
+
+    public void setOrderIds(List<UUID> orderIds) {
+        this.orderIds = orderIds;
+    }
+
+    public OrderStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(OrderStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.application.dto.order;
+
+import java.util.List;
+
+/**
+ * DTO for the per-order outcome of a bulk status change.
+ */
+public class BulkOrderStatusResponse {
+
+    private String status;
+    private int updated;
+    private List<Result> results;
+
+    public BulkOrderStatusResponse() {
+    }
+
+    public BulkOrderStatusResponse(String status, int updated, List<Result> results) {
+        this.status = status;
+        this.updated = updated;
+        this.results = results;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    /**
+     * What happened to one order.
+     */
+    public enum Outcome {
+        UPDATED,
+        /** Already in the target status */
+        UNCHANGED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        /** Changed concurrently to a status the target cannot be reached from */
+        CONFLICT
+    }
+
+    /**
+     * Outcome for one order; previousStatus is the status it was found in, if any.
+     */
+    public record Result(String orderId, Outcome outcome, String previousStatus) {
+    }
+}
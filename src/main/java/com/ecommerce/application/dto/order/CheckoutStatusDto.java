@@ -0,0 +1,77 @@
+package com.ecommerce.application.dto.order;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of an asynchronous checkout.
+ */
+public class CheckoutStatusDto {
+
+    private String ticketId;
+    private String status;
+    private String orderId;
+    private String orderNumber;
+    private String error;
+    private LocalDateTime submittedAt;
+
+    public CheckoutStatusDto() {
+    }
+
+    public CheckoutStatusDto(String ticketId, String status, String orderId, String orderNumber, String error,
+            LocalDateTime submittedAt) {
+        this.ticketId = ticketId;
+        this.status = status;
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.error = error;
+        this.submittedAt = submittedAt;
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(String orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public void setOrderNumber(String orderNumber) {
+        this.orderNumber = orderNumber;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+}
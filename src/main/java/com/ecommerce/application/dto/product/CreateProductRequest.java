@@ -52,6 +52,7 @@ public class CreateProductRequest {
     private String dimensionUnit;
 
     private boolean featured;
+    private boolean hotInventory;
     private boolean digital;
     private boolean requiresShipping;
 
@@ -209,6 +210,14 @@ public class CreateProductRequest {
         this.featured = featured;
     }
 
+    public boolean isHotInventory() {
+        return hotInventory;
+    }
+
+    public void setHotInventory(boolean hotInventory) {
+        this.hotInventory = hotInventory;
+    }
+
     public boolean isDigital() {
         return digital;
     }
@@ -0,0 +1,78 @@
+package com.ecommerce.application.dto.product;
+
+import com.ecommerce.application.dto.common.PagedResponse;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for faceted catalog browsing: a page of products plus facet value counts.
+ */
+public class FacetedProductResponse {
+
+    private PagedResponse<ProductSummaryDto> products;
+    private Map<String, List<FacetValueDto>> facets;
+
+    public FacetedProductResponse() {
+    }
+
+    public FacetedProductResponse(PagedResponse<ProductSummaryDto> products, Map<String, List<FacetValueDto>> facets) {
+        this.products = products;
+        this.facets = facets;
+    }
+
+    public PagedResponse<ProductSummaryDto> getProducts() {
+        return products;
+    }
+
+    public void setProducts(PagedResponse<ProductSummaryDto> products) {
+        this.products = products;
+    }
+
+    public Map<String, List<FacetValueDto>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetValueDto>> facets) {
+        this.facets = facets;
+    }
+
+    public static class FacetValueDto {
+        private String value;
+        private String label;
+        private int count;
+
+        public FacetValueDto() {
+        }
+
+        public FacetValueDto(String value, String label, int count) {
+            this.value = value;
+            this.label = label;
+            this.count = count;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
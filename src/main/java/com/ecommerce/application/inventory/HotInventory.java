@@ -0,0 +1,216 @@
+package com.ecommerce.application.inventory;
+
+import com.ecommerce.domain.product.InventoryDelta;
+import com.ecommerce.domain.product.InventoryJournalEntry;
+import com.ecommerce.infrastructure.inventory.HotStockCounter;
+import com.ecommerce.infrastructure.repository.InventoryJournalRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Stock for products flagged as hot inventory (limited drops). Reservations are admitted by a
+ * {@link HotStockCounter} instead of an update of the products row, so buyers of one product do not
+ * queue on its row lock. Every admitted change is journaled in the caller's transaction and folded into
+ * the products row later by {@link InventoryReconciler}.
+ * <p>
+ * Counters are seeded from the products row plus the unreconciled journal, and only ever move with
+ * committed changes: units taken by a transaction that rolls back are put back, and units released by
+ * a cancellation are added only after it commits. A restarted node therefore re-seeds to the correct value.
+ * Flag products before a drop opens; switching the flag while orders are in flight is not coordinated.
+ */
+@Component
+public class HotInventory {
+
+    private static final Logger log = LoggerFactory.getLogger(HotInventory.class);
+
+    private final HotStockCounter counter;
+    private final ProductRepository productRepository;
+    private final InventoryJournalRepository journalRepository;
+
+    private volatile Set<UUID> hotProductIds = Set.of();
+
+    public HotInventory(HotStockCounter counter, ProductRepository productRepository,
+            InventoryJournalRepository journalRepository) {
+        this.counter = counter;
+        this.productRepository = productRepository;
+        this.journalRepository = journalRepository;
+    }
+
+    public boolean isHot(UUID productId) {
+        return hotProductIds.contains(productId);
+    }
+
+    /**
+     * The lines of {@code quantities} that belong to hot-inventory products.
+     */
+    public Map<UUID, Integer> hotLines(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> hot = new LinkedHashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            if (isHot(productId)) {
+                hot.put(productId, quantity);
+            }
+        });
+        return hot;
+    }
+
+    /**
+     * Reserves the given quantities of hot products. Must run in the order's transaction.
+     *
+     * @return ids of the products that could not be reserved
+     */
+    public Set<UUID> reserve(Map<UUID, Integer> quantities) {
+        requireTransaction();
+        Set<UUID> failed = new LinkedHashSet<>();
+        Map<UUID, Integer> taken = new LinkedHashMap<>();
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (counter.tryTake(productId, quantity, () -> seed(productId))) {
+                taken.put(productId, quantity);
+            } else {
+                failed.add(productId);
+            }
+        });
+        journal(taken, InventoryDelta::reserve);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    taken.forEach(counter::add);
+                }
+            }
+        });
+        return failed;
+    }
+
+    /**
+     * Returns reserved units of hot products to sale once the caller's transaction commits.
+     */
+    public void release(Map<UUID, Integer> quantities) {
+        requireTransaction();
+        journal(quantities, InventoryDelta::release);
+        addAfterCommit(quantities);
+    }
+
+    /**
+     * Records the sale of reserved units; available stock is unchanged.
+     */
+    public void confirmSale(Map<UUID, Integer> quantities) {
+        requireTransaction();
+        journal(quantities, InventoryDelta::confirmSale);
+    }
+
+    /**
+     * Applies a direct change of a hot product's stock on hand (e.g. a restock) once the caller's
+     * transaction commits.
+     */
+    public void stockChanged(UUID productId, int delta) {
+        if (delta != 0 && isHot(productId)) {
+            requireTransaction();
+            addAfterCommit(Map.of(productId, delta));
+        }
+    }
+
+    /**
+     * Units currently available to new orders, if the product has a counter.
+     */
+    public OptionalInt available(UUID productId) {
+        return counter.available(productId);
+    }
+
+    /**
+     * Reloads the set of flagged products and drops counters of products that are no longer flagged.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refreshHotProducts() {
+        Set<UUID> fresh = Set.copyOf(productRepository.findHotInventoryIds());
+        for (UUID productId : hotProductIds) {
+            if (!fresh.contains(productId)) {
+                counter.remove(productId);
+            }
+        }
+        if (!fresh.equals(hotProductIds)) {
+            log.info("Hot inventory products: {}", fresh.size());
+        }
+        hotProductIds = fresh;
+    }
+
+    /**
+     * Folds the oldest journal entries into the products rows and deletes them, in one transaction.
+     *
+     * @return number of entries applied
+     */
+    @Transactional
+    public int applyJournal(int batchSize) {
+        List<InventoryJournalEntry> entries = journalRepository.findOldestForUpdate(PageRequest.of(0, batchSize));
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, InventoryDelta> deltas = new HashMap<>();
+        for (InventoryJournalEntry entry : entries) {
+            deltas.merge(entry.getProductId(), entry.getDelta(), InventoryDelta::plus);
+        }
+        productRepository.applyDeltas(deltas);
+        journalRepository.deleteAllInBatch(entries);
+        return entries.size();
+    }
+
+    private int seed(UUID productId) {
+        return productRepository.findJournaledAvailableQuantity(productId).orElse(0);
+    }
+
+    private void journal(Map<UUID, Integer> quantities, IntFunction<InventoryDelta> delta) {
+        if (!quantities.isEmpty()) {
+            journalRepository.saveAll(quantities.entrySet().stream()
+                    .map(line -> new InventoryJournalEntry(line.getKey(), delta.apply(line.getValue())))
+                    .toList());
+        }
+    }
+
+    /**
+     * Adds units to counters that exist now. A counter seeded later reads the committed change from the
+     * database instead; one seeded between now and the commit may miss it, which only undercounts.
+     */
+    private void addAfterCommit(Map<UUID, Integer> quantities) {
+        Set<UUID> counted = new HashSet<>();
+        quantities.keySet().forEach(productId -> {
+            if (counter.contains(productId)) {
+                counted.add(productId);
+            }
+        });
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                quantities.forEach((productId, quantity) -> {
+                    if (counted.contains(productId)) {
+                        counter.add(productId, quantity);
+                    }
+                });
+            }
+        });
+    }
+
+    private static void requireTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Hot inventory changes must run inside a transaction");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.application.inventory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically flushes the hot-inventory journal into the products table in batches and picks up
+ * changes to which products are flagged as hot.
+ */
+@Component
+public class InventoryReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryReconciler.class);
+
+    private final HotInventory hotInventory;
+    private final int batchSize;
+
+    public InventoryReconciler(HotInventory hotInventory,
+            @Value("${inventory.hot.reconcile-batch-size:500}") int batchSize) {
+        this.hotInventory = hotInventory;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${inventory.hot.reconcile-interval-ms:1000}",
+            fixedDelayString = "${inventory.hot.reconcile-interval-ms:1000}")
+    public void reconcile() {
+        hotInventory.refreshHotProducts();
+        int total = 0;
+        int applied;
+        do {
+            applied = hotInventory.applyJournal(batchSize);
+            total += applied;
+        } while (applied == batchSize);
+        if (total > 0) {
+            log.debug("Reconciled {} inventory journal entries", total);
+        }
+    }
+}
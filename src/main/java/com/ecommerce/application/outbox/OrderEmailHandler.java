@@ -0,0 +1,39 @@
+package com.ecommerce.application.outbox;
+
+import com.ecommerce.domain.order.OrderEvent;
+import com.ecommerce.infrastructure.service.EmailService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emails the customer when an order is confirmed or cancelled. Sends on the relay's thread so a
+ * failed send fails the event, which is then retried instead of deleted.
+ */
+@Component
+public class OrderEmailHandler implements OrderEventHandler {
+
+    private final EmailService emailService;
+
+    public OrderEmailHandler(EmailService emailService) {
+        this.emailService = emailService;
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    public void handle(OrderEvent event) {
+        if (event.getCustomerEmail() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case CONFIRMED -> emailService.deliverOrderConfirmationEmail(event.getCustomerEmail(),
+                    event.getOrderNumber(), event.getTotal().toPlainString() + " " + event.getCurrency());
+            case CANCELLED -> emailService.deliverOrderCancellationEmail(event.getCustomerEmail(),
+                    event.getOrderNumber(), event.getReason());
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.application.outbox;
+
+import com.ecommerce.domain.order.OrderEvent;
+
+/**
+ * Side effect of an order lifecycle event, run by the outbox relay after the order change committed.
+ * Delivery is at least once: a handler that completed is skipped when the event is retried, but may see
+ * it again if the relay dies before recording its completion.
+ */
+public interface OrderEventHandler {
+
+    /**
+     * Stable name under which the outbox records that this handler has processed an event.
+     */
+    String name();
+
+    void handle(OrderEvent event);
+}
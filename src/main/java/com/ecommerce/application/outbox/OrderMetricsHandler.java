@@ -0,0 +1,37 @@
+package com.ecommerce.application.outbox;
+
+import com.ecommerce.domain.order.OrderEvent;
+import com.ecommerce.domain.order.OrderEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts order lifecycle events and confirmed revenue for analytics dashboards.
+ */
+@Component
+public class OrderMetricsHandler implements OrderEventHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public OrderMetricsHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String name() {
+        return "metrics";
+    }
+
+    @Override
+    public void handle(OrderEvent event) {
+        meterRegistry.counter("orders.events", "type", event.getType().name()).increment();
+        if (event.getTotal() != null && event.getType() == OrderEventType.CONFIRMED) {
+            Counter.builder("orders.revenue")
+                    .description("Total of confirmed orders")
+                    .tag("currency", event.getCurrency() == null ? "unknown" : event.getCurrency())
+                    .register(meterRegistry)
+                    .increment(event.getTotal().doubleValue());
+        }
+    }
+}
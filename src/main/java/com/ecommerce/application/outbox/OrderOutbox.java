@@ -0,0 +1,145 @@
+package com.ecommerce.application.outbox;
+
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderEvent;
+import com.ecommerce.domain.order.OrderEventType;
+import com.ecommerce.domain.order.OrderEventView;
+import com.ecommerce.infrastructure.repository.OrderEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transactional outbox for order events. Order changes record their event in their own transaction;
+ * the relay later dispatches due events to every {@link OrderEventHandler} and deletes them. Failed
+ * events are retried with exponential backoff, skipping the handlers that already completed, and parked
+ * after the maximum number of attempts.
+ */
+@Service
+public class OrderOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutbox.class);
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(10);
+
+    private final OrderEventRepository eventRepository;
+    private final List<OrderEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final Duration claimTimeout;
+
+    public OrderOutbox(OrderEventRepository eventRepository, List<OrderEventHandler> handlers,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${orders.outbox.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.eventRepository = eventRepository;
+        this.handlers = handlers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+    }
+
+    /**
+     * Records an event in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(OrderEventType type, Order order, String customerEmail) {
+        eventRepository.save(new OrderEvent(type, order, customerEmail));
+    }
+
+    /**
+     * Records one event per order in the caller's transaction, for bulk changes that never load the
+     * orders themselves. The inserts are sent as JDBC batches.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(OrderEventType type, List<OrderEventView> orders) {
+        eventRepository.saveAll(orders.stream().map(order -> new OrderEvent(type, order)).toList());
+    }
+
+    /**
+     * Dispatches the oldest due events. They are claimed in one short transaction and handed to the
+     * handlers outside it, so a slow handler holds neither a connection nor row locks; the outcome is
+     * written back in a second short transaction.
+     *
+     * @return number of events taken, delivered or not
+     */
+    public int dispatchBatch(int batchSize) {
+        List<OrderEvent> events = transactionTemplate.execute(status -> {
+            List<OrderEvent> due = eventRepository.findDueForUpdate(LocalDateTime.now(),
+                    PageRequest.of(0, batchSize));
+            due.forEach(event -> event.claim(claimTimeout));
+            return due;
+        });
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<OrderEvent> delivered = new ArrayList<>(events.size());
+        List<OrderEvent> failed = new ArrayList<>();
+        for (OrderEvent event : events) {
+            if (deliver(event)) {
+                delivered.add(event);
+            } else {
+                failed.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.deleteAllInBatch(delivered);
+            eventRepository.saveAll(failed);
+        });
+        return events.size();
+    }
+
+    /**
+     * Runs the handlers that have not completed the event yet.
+     *
+     * @return whether every handler has now completed it
+     */
+    private boolean deliver(OrderEvent event) {
+        RuntimeException failure = null;
+        for (OrderEventHandler handler : handlers) {
+            if (event.isCompletedBy(handler.name())) {
+                continue;
+            }
+            try {
+                handler.handle(event);
+                event.completedBy(handler.name());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure == null) {
+            return true;
+        }
+
+        Duration retryAfter = event.getAttempts() + 1 >= maxAttempts ? null : backoff(event.getAttempts());
+        event.failed(failure.getMessage(), retryAfter);
+        if (retryAfter == null) {
+            log.error("Giving up on {} event of order {} after {} attempts", event.getType(),
+                    event.getOrderNumber(), event.getAttempts(), failure);
+        } else {
+            log.warn("{} event of order {} failed, retrying in {}: {}", event.getType(),
+                    event.getOrderNumber(), retryAfter, failure.getMessage());
+        }
+        return false;
+    }
+
+    private static Duration backoff(int attempts) {
+        Duration backoff = Duration.ofSeconds(1L << Math.min(attempts, 20));
+        return backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff;
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.application.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically drains the order outbox in batches, one transaction per batch. Several nodes can run
+ * the relay; each takes rows the others have not locked.
+ */
+@Component
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutbox outbox;
+    private final int batchSize;
+
+    public OrderOutboxRelay(OrderOutbox outbox, @Value("${orders.outbox.batch-size:100}") int batchSize) {
+        this.outbox = outbox;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${orders.outbox.poll-interval-ms:1000}",
+            fixedDelayString = "${orders.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        int total = 0;
+        int taken;
+        do {
+            taken = outbox.dispatchBatch(batchSize);
+            total += taken;
+        } while (taken == batchSize);
+        if (total > 0) {
+            log.debug("Relayed {} order events", total);
+        }
+    }
+}
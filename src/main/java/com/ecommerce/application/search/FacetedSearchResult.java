@@ -0,0 +1,22 @@
+package com.ecommerce.application.search;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Page of matching product IDs together with the facet counts for the current filter.
+ *
+ * @param productIds matching product IDs in the requested sort order
+ * @param facets     facet name to value counts, e.g. "price" to [("0-25", 12), ...]
+ */
+public record FacetedSearchResult(Page<UUID> productIds, Map<String, List<FacetCount>> facets) {
+
+    /**
+     * Number of matching products for one facet value if it were selected.
+     */
+    public record FacetCount(String value, String label, int count) {
+    }
+}
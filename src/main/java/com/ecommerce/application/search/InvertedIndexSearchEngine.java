@@ -0,0 +1,317 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over product name, tags, short description and description, ranked with BM25.
+ * Fields are weighted (name > tags > short description > description) by scaling their term frequencies.
+ * The index is rebuilt from the database on startup and kept current by ProductService after every commit.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "index", matchIfMissing = true)
+public class InvertedIndexSearchEngine implements ProductSearchEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InvertedIndexSearchEngine.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float TAG_WEIGHT = 2.0f;
+    private static final float SHORT_DESCRIPTION_WEIGHT = 1.5f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private static final Comparator<ScoredDocument> BY_RANK = Comparator
+            .comparingDouble(ScoredDocument::score).reversed()
+            .thenComparing(ScoredDocument::id);
+
+    private final ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    /**
+     * Writes made while a rebuild is loading, by product id with null for a removal; replayed onto the
+     * fresh state before it is swapped in. Null when no rebuild is running.
+     */
+    private Map<UUID, Map<String, Float>> pendingWrites;
+
+    public InvertedIndexSearchEngine(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Loads all active products into a new index once the application has started and swaps it in, so
+     * searches keep using the current index meanwhile. Products are read in id order with a keyset cursor;
+     * writes that arrive while it loads are replayed onto the new index so none are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        State fresh = new State();
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Pageable limit = PageRequest.of(0, REBUILD_BATCH_SIZE);
+            List<Product> batch = productRepository.findActiveProductsFirstPage(ProductStatus.ACTIVE, limit);
+            while (!batch.isEmpty()) {
+                batch.forEach(product -> fresh.put(product.getId(), frequencies(product)));
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                UUID lastId = batch.get(batch.size() - 1).getId();
+                batch = productRepository.findActiveProductsAfter(ProductStatus.ACTIVE, lastId, limit);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach((productId, frequencies) -> {
+                fresh.remove(productId);
+                if (frequencies != null) {
+                    fresh.put(productId, frequencies);
+                }
+            });
+            pendingWrites = null;
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product search index built with {} documents", fresh.ordinals.size());
+    }
+
+    @Override
+    public void index(Product product) {
+        if (!isSearchable(product)) {
+            remove(product.getId());
+            return;
+        }
+
+        Map<String, Float> frequencies = frequencies(product);
+        lock.writeLock().lock();
+        try {
+            if (pendingWrites != null) {
+                pendingWrites.put(product.getId(), frequencies);
+            }
+            Integer existing = state.ordinals.get(product.getId());
+            if (existing != null && state.documents.get(existing).frequencies().equals(frequencies)) {
+                return;
+            }
+            state.remove(product.getId());
+            state.put(product.getId(), frequencies);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+            if (pendingWrites != null) {
+                pendingWrites.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(TextAnalyzer.analyze(query));
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        lock.readLock().lock();
+        try {
+            State current = state;
+            int documentCount = current.ordinals.size();
+            if (documentCount == 0) {
+                return Page.empty(pageable);
+            }
+            double averageLength = current.totalLength / documentCount;
+
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Integer, Float> posting = current.postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<Integer, Float> entry : posting.entrySet()) {
+                    double tf = entry.getValue();
+                    double lengthNorm = 1 - B + B * current.documents.get(entry.getKey()).length() / averageLength;
+                    double score = idf * tf * (K1 + 1) / (tf + K1 * lengthNorm);
+                    scores.merge(entry.getKey(), score, Double::sum);
+                }
+            }
+
+            List<UUID> content = topPage(current, scores, pageable);
+            return new PageImpl<>(content, pageable, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<UUID> topPage(State current, Map<Integer, Double> scores, Pageable pageable) {
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : scores.size();
+        if (offset >= scores.size()) {
+            return Collections.emptyList();
+        }
+
+        // Keep only the best offset + limit hits instead of sorting every match
+        int keep = (int) Math.min(scores.size(), offset + limit);
+        PriorityQueue<ScoredDocument> heap = new PriorityQueue<>(keep, BY_RANK.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            heap.offer(new ScoredDocument(current.documents.get(entry.getKey()).id(), entry.getValue()));
+            if (heap.size() > keep) {
+                heap.poll();
+            }
+        }
+
+        List<ScoredDocument> ranked = new ArrayList<>(heap);
+        ranked.sort(BY_RANK);
+        return ranked.subList((int) offset, ranked.size()).stream()
+                .map(ScoredDocument::id)
+                .toList();
+    }
+
+    private static Map<String, Float> frequencies(Product product) {
+        Map<String, Float> frequencies = new HashMap<>();
+        addField(frequencies, product.getName(), NAME_WEIGHT);
+        if (product.getTags() != null) {
+            product.getTags().forEach(tag -> addField(frequencies, tag, TAG_WEIGHT));
+        }
+        addField(frequencies, product.getShortDescription(), SHORT_DESCRIPTION_WEIGHT);
+        addField(frequencies, product.getDescription(), DESCRIPTION_WEIGHT);
+        return frequencies;
+    }
+
+    private static void addField(Map<String, Float> frequencies, String text, float weight) {
+        for (String term : TextAnalyzer.analyze(text)) {
+            frequencies.merge(term, weight, Float::sum);
+        }
+    }
+
+    private static boolean isSearchable(Product product) {
+        return product.getStatus() == ProductStatus.ACTIVE && !product.isDeleted();
+    }
+
+    /**
+     * One generation of the index; replaced wholesale by rebuild().
+     */
+    private static final class State {
+
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<Document> documents = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final Map<String, Map<Integer, Float>> postings = new HashMap<>();
+        private double totalLength = 0;
+
+        void put(UUID productId, Map<String, Float> frequencies) {
+            float length = 0;
+            for (float frequency : frequencies.values()) {
+                length += frequency;
+            }
+
+            Document document = new Document(productId, length, frequencies);
+            int ordinal;
+            if (freeOrdinals.isEmpty()) {
+                ordinal = documents.size();
+                documents.add(document);
+            } else {
+                ordinal = freeOrdinals.pop();
+                documents.set(ordinal, document);
+            }
+
+            ordinals.put(productId, ordinal);
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(ordinal, frequency));
+            totalLength += length;
+        }
+
+        void remove(UUID productId) {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+
+            Document document = documents.get(ordinal);
+            for (String term : document.frequencies().keySet()) {
+                Map<Integer, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(ordinal);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            totalLength -= document.length();
+            documents.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+    }
+
+    private record Document(UUID id, float length, Map<String, Float> frequencies) {
+    }
+
+    private record ScoredDocument(UUID id, double score) {
+    }
+}
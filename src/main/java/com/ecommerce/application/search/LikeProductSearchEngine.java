@@ -0,0 +1,28 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Substring search with LIKE on name and description. Needs no index but scans the products table.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "like")
+public class LikeProductSearchEngine implements ProductSearchEngine {
+
+    private final ProductRepository productRepository;
+
+    public LikeProductSearchEngine(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        return productRepository.searchProductIds(query, pageable);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * PostgreSQL full-text search using the GIN-indexed search_vector column, ranked with ts_rank_cd.
+ * The vector is maintained by database triggers, so no application-side indexing is needed.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "fulltext")
+public class PostgresFullTextSearchEngine implements ProductSearchEngine {
+
+    private final ProductRepository productRepository;
+
+    public PostgresFullTextSearchEngine(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        if (query == null || query.isBlank()) {
+            return Page.empty(pageable);
+        }
+        return productRepository.searchProductIdsByFullText(query, pageable);
+    }
+}
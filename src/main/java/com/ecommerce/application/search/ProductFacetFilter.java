@@ -0,0 +1,24 @@
+package com.ecommerce.application.search;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Filters for faceted catalog browsing. Values within a facet are OR-ed; facets are AND-ed together.
+ * Null or empty values leave the facet unfiltered.
+ *
+ * @param categoryId   category whose whole subtree is included
+ * @param priceBuckets price bucket keys such as "25-50" or "500+"
+ * @param minRating    minimum average rating (1-5)
+ * @param inStock      when true, only products with available stock
+ * @param tags         product tags
+ * @param sellerIds    seller user IDs
+ */
+public record ProductFacetFilter(
+        UUID categoryId,
+        Set<String> priceBuckets,
+        Integer minRating,
+        Boolean inStock,
+        Set<String> tags,
+        Set<UUID> sellerIds) {
+}
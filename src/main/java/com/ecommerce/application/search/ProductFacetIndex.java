@@ -0,0 +1,483 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.application.search.FacetedSearchResult.FacetCount;
+import com.ecommerce.domain.product.Category;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.repository.CategoryRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory bitmap index for faceted catalog browsing.
+ * Every active product gets a dense ordinal, and each facet value keeps one bitset over those ordinals,
+ * so filtering is a handful of bitset intersections and facet counts are intersection cardinalities.
+ * Dense ordinals keep plain bitsets compact (one bit per product), so no compressed bitmap library is needed.
+ * <p>
+ * ProductService refreshes individual products on write; a periodic full rebuild picks up changes made
+ * elsewhere (stock reserved by orders, ratings, category tree).
+ */
+@Component
+public class ProductFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductFacetIndex.class);
+
+    public static final String CATEGORY_FACET = "category";
+    public static final String PRICE_FACET = "price";
+    public static final String RATING_FACET = "rating";
+    public static final String STOCK_FACET = "inStock";
+    public static final String TAG_FACET = "tags";
+    public static final String SELLER_FACET = "seller";
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_TAG_FACETS = 20;
+    private static final int MAX_SELLER_FACETS = 20;
+
+    /**
+     * Upper bounds (exclusive) of the price buckets; the last bucket is open-ended.
+     */
+    private static final BigDecimal[] PRICE_BOUNDS = {
+            BigDecimal.valueOf(25), BigDecimal.valueOf(50), BigDecimal.valueOf(100),
+            BigDecimal.valueOf(250), BigDecimal.valueOf(500)
+    };
+    private static final List<String> PRICE_BUCKETS = List.of("0-25", "25-50", "50-100", "100-250", "250-500", "500+");
+
+    private static final int MAX_RATING = 5;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State(new HashMap<>(), new HashMap<>());
+    /**
+     * Writes made while a rebuild is loading, by product id with null for a removal; replayed onto the
+     * fresh state before it is swapped in. Null when no rebuild is running.
+     */
+    private Map<UUID, FacetDocument> pendingWrites;
+
+    public ProductFacetIndex(ProductRepository productRepository, CategoryRepository categoryRepository) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+    }
+
+    /**
+     * Rebuilds the index from the database off to the side and swaps it in. Products are read in id order
+     * with a keyset cursor, so rows changing status mid-rebuild cannot shift later pages; writes that
+     * arrive while it loads are replayed onto the new state so none are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${catalog.facets.refresh-interval-ms:900000}",
+            fixedDelayString = "${catalog.facets.refresh-interval-ms:900000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<UUID, List<UUID>> children = new HashMap<>();
+        Map<UUID, String> categoryNames = new HashMap<>();
+        for (Category category : categoryRepository.findAllActive()) {
+            categoryNames.put(category.getId(), category.getName());
+            UUID parentId = category.getParent() != null ? category.getParent().getId() : null;
+            children.computeIfAbsent(parentId, id -> new ArrayList<>()).add(category.getId());
+        }
+
+        State fresh = new State(children, categoryNames);
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            Pageable limit = PageRequest.of(0, REBUILD_BATCH_SIZE);
+            List<Product> batch = productRepository.findActiveProductsFirstPage(ProductStatus.ACTIVE, limit);
+            while (!batch.isEmpty()) {
+                batch.forEach(product -> fresh.put(toDocument(product)));
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                UUID lastId = batch.get(batch.size() - 1).getId();
+                batch = productRepository.findActiveProductsAfter(ProductStatus.ACTIVE, lastId, limit);
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach((productId, document) -> {
+                fresh.remove(productId);
+                if (document != null) {
+                    fresh.put(document);
+                }
+            });
+            pendingWrites = null;
+            state = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Product facet index built with {} products", fresh.ordinals.size());
+    }
+
+    /**
+     * Adds or refreshes a product. Products that are no longer browsable are removed.
+     */
+    public void index(Product product) {
+        if (product.getStatus() != ProductStatus.ACTIVE || product.isDeleted()) {
+            remove(product.getId());
+            return;
+        }
+        FacetDocument document = toDocument(product);
+        lock.writeLock().lock();
+        try {
+            state.remove(document.id());
+            state.put(document);
+            if (pendingWrites != null) {
+                pendingWrites.put(document.id(), document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            state.remove(productId);
+            if (pendingWrites != null) {
+                pendingWrites.put(productId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the filter and returns the requested page plus counts for every facet.
+     * Counts for a facet are computed against all the other active filters, so selecting one value
+     * does not zero out its siblings.
+     */
+    public FacetedSearchResult search(ProductFacetFilter filter, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            State current = state;
+            Map<String, BitSet> masks = new LinkedHashMap<>();
+            masks.put(CATEGORY_FACET, current.categoryMask(filter.categoryId()));
+            masks.put(PRICE_FACET, union(current.byPrice, filter.priceBuckets()));
+            masks.put(RATING_FACET, current.ratingMask(filter.minRating()));
+            masks.put(STOCK_FACET, Boolean.TRUE.equals(filter.inStock()) ? current.inStock : null);
+            masks.put(TAG_FACET, union(current.byTag, filter.tags()));
+            masks.put(SELLER_FACET, union(current.bySeller, filter.sellerIds()));
+
+            BitSet matches = intersect(current.live, masks, null);
+
+            Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+            facets.put(CATEGORY_FACET, current.categoryCounts(filter.categoryId(),
+                    intersect(current.live, masks, CATEGORY_FACET)));
+            facets.put(PRICE_FACET, counts(current.byPrice, PRICE_BUCKETS,
+                    intersect(current.live, masks, PRICE_FACET)));
+            facets.put(RATING_FACET, current.ratingCounts(intersect(current.live, masks, RATING_FACET)));
+            facets.put(STOCK_FACET, List.of(new FacetCount("true", null,
+                    andCardinality(intersect(current.live, masks, STOCK_FACET), current.inStock))));
+            facets.put(TAG_FACET, topCounts(current.byTag, intersect(current.live, masks, TAG_FACET),
+                    MAX_TAG_FACETS));
+            facets.put(SELLER_FACET, topCounts(current.bySeller, intersect(current.live, masks, SELLER_FACET),
+                    MAX_SELLER_FACETS));
+
+            return new FacetedSearchResult(current.page(matches, pageable), facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String priceBucket(BigDecimal price) {
+        for (int i = 0; i < PRICE_BOUNDS.length; i++) {
+            if (price.compareTo(PRICE_BOUNDS[i]) < 0) {
+                return PRICE_BUCKETS.get(i);
+            }
+        }
+        return PRICE_BUCKETS.get(PRICE_BUCKETS.size() - 1);
+    }
+
+    private static FacetDocument toDocument(Product product) {
+        return new FacetDocument(
+                product.getId(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getSeller() != null ? product.getSeller().getId() : null,
+                product.getPrice(),
+                product.getAverageRating() != null ? product.getAverageRating() : BigDecimal.ZERO,
+                product.isInStock(),
+                product.getTags() != null ? Set.copyOf(product.getTags()) : Set.of(),
+                product.getCreatedAt(),
+                product.getTotalSales() != null ? product.getTotalSales() : 0);
+    }
+
+    private static BitSet intersect(BitSet live, Map<String, BitSet> masks, String exclude) {
+        BitSet result = (BitSet) live.clone();
+        masks.forEach((facet, mask) -> {
+            if (mask != null && !facet.equals(exclude)) {
+                result.and(mask);
+            }
+        });
+        return result;
+    }
+
+    private static <K> BitSet union(Map<K, BitSet> index, Collection<K> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet result = new BitSet();
+        for (K value : values) {
+            BitSet bits = index.get(value);
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+        return result;
+    }
+
+    private static int andCardinality(BitSet a, BitSet b) {
+        BitSet copy = (BitSet) a.clone();
+        copy.and(b);
+        return copy.cardinality();
+    }
+
+    private static List<FacetCount> counts(Map<String, BitSet> index, List<String> values, BitSet base) {
+        List<FacetCount> counts = new ArrayList<>();
+        for (String value : values) {
+            BitSet bits = index.get(value);
+            counts.add(new FacetCount(value, null, bits != null ? andCardinality(base, bits) : 0));
+        }
+        return counts;
+    }
+
+    private static <K> List<FacetCount> topCounts(Map<K, BitSet> index, BitSet base, int limit) {
+        List<FacetCount> counts = new ArrayList<>();
+        index.forEach((value, bits) -> {
+            int count = andCardinality(base, bits);
+            if (count > 0) {
+                counts.add(new FacetCount(value.toString(), null, count));
+            }
+        });
+        counts.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::value));
+        return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+    }
+
+    private static <K> void set(Map<K, BitSet> index, K key, int ordinal) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private static <K> void clear(Map<K, BitSet> index, K key, int ordinal) {
+        BitSet bits = key != null ? index.get(key) : null;
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private record FacetDocument(UUID id, UUID categoryId, UUID sellerId, BigDecimal price, BigDecimal rating,
+            boolean inStock, Set<String> tags, LocalDateTime createdAt, int totalSales) {
+
+        int ratingBucket() {
+            return Math.min(MAX_RATING, rating.intValue());
+        }
+    }
+
+    /**
+     * One generation of the index; replaced wholesale by rebuild().
+     */
+    private static final class State {
+
+        private final Map<UUID, List<UUID>> categoryChildren;
+        private final Map<UUID, String> categoryNames;
+
+        private final Map<UUID, Integer> ordinals = new HashMap<>();
+        private final List<FacetDocument> documents = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+
+        private final BitSet live = new BitSet();
+        private final BitSet inStock = new BitSet();
+        private final Map<UUID, BitSet> byCategory = new HashMap<>();
+        private final Map<String, BitSet> byPrice = new HashMap<>();
+        private final Map<Integer, BitSet> byRating = new HashMap<>();
+        private final Map<String, BitSet> byTag = new HashMap<>();
+        private final Map<UUID, BitSet> bySeller = new HashMap<>();
+
+        State(Map<UUID, List<UUID>> categoryChildren, Map<UUID, String> categoryNames) {
+            this.categoryChildren = categoryChildren;
+            this.categoryNames = categoryNames;
+        }
+
+        void put(FacetDocument document) {
+            int ordinal;
+            if (freeOrdinals.isEmpty()) {
+                ordinal = documents.size();
+                documents.add(document);
+            } else {
+                ordinal = freeOrdinals.pop();
+                documents.set(ordinal, document);
+            }
+            ordinals.put(document.id(), ordinal);
+
+            live.set(ordinal);
+            inStock.set(ordinal, document.inStock());
+            set(byCategory, document.categoryId(), ordinal);
+            set(bySeller, document.sellerId(), ordinal);
+            set(byPrice, priceBucket(document.price()), ordinal);
+            set(byRating, document.ratingBucket(), ordinal);
+            document.tags().forEach(tag -> set(byTag, tag, ordinal));
+        }
+
+        void remove(UUID productId) {
+            Integer ordinal = ordinals.remove(productId);
+            if (ordinal == null) {
+                return;
+            }
+            FacetDocument document = documents.get(ordinal);
+
+            live.clear(ordinal);
+            inStock.clear(ordinal);
+            clear(byCategory, document.categoryId(), ordinal);
+            clear(bySeller, document.sellerId(), ordinal);
+            clear(byPrice, priceBucket(document.price()), ordinal);
+            clear(byRating, document.ratingBucket(), ordinal);
+            document.tags().forEach(tag -> clear(byTag, tag, ordinal));
+
+            documents.set(ordinal, null);
+            freeOrdinals.push(ordinal);
+        }
+
+        BitSet categoryMask(UUID categoryId) {
+            if (categoryId == null) {
+                return null;
+            }
+            BitSet mask = new BitSet();
+            for (UUID id : subtree(categoryId)) {
+                BitSet bits = byCategory.get(id);
+                if (bits != null) {
+                    mask.or(bits);
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Counts for the children of the selected category (or the root categories), each including its subtree.
+         */
+        List<FacetCount> categoryCounts(UUID selected, BitSet base) {
+            List<FacetCount> counts = new ArrayList<>();
+            for (UUID child : categoryChildren.getOrDefault(selected, List.of())) {
+                BitSet mask = categoryMask(child);
+                int count = andCardinality(base, mask);
+                if (count > 0) {
+                    counts.add(new FacetCount(child.toString(), categoryNames.get(child), count));
+                }
+            }
+            return counts;
+        }
+
+        BitSet ratingMask(Integer minRating) {
+            if (minRating == null) {
+                return null;
+            }
+            BitSet mask = new BitSet();
+            for (int rating = Math.max(0, minRating); rating <= MAX_RATING; rating++) {
+                BitSet bits = byRating.get(rating);
+                if (bits != null) {
+                    mask.or(bits);
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Cumulative "N stars and up" counts, from 4 down to 1.
+         */
+        List<FacetCount> ratingCounts(BitSet base) {
+            List<FacetCount> counts = new ArrayList<>();
+            for (int rating = MAX_RATING - 1; rating >= 1; rating--) {
+                counts.add(new FacetCount(String.valueOf(rating), rating + "+",
+                        andCardinality(base, ratingMask(rating))));
+            }
+            return counts;
+        }
+
+        Page<UUID> page(BitSet matches, Pageable pageable) {
+            List<FacetDocument> hits = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                hits.add(documents.get(ordinal));
+            }
+            hits.sort(comparator(pageable.getSort()));
+
+            int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), hits.size()) : 0;
+            int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), hits.size()) : hits.size();
+            List<UUID> content = hits.subList(from, to).stream().map(FacetDocument::id).toList();
+            return new PageImpl<>(content, pageable, hits.size());
+        }
+
+        private Set<UUID> subtree(UUID root) {
+            Set<UUID> result = new HashSet<>();
+            Deque<UUID> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                UUID id = pending.pop();
+                if (result.add(id)) {
+                    categoryChildren.getOrDefault(id, List.of()).forEach(pending::push);
+                }
+            }
+            return result;
+        }
+
+        private static Comparator<FacetDocument> comparator(Sort sort) {
+            Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.desc("createdAt"));
+            Comparator<FacetDocument> comparator = switch (order.getProperty()) {
+                case "price" -> Comparator.comparing(FacetDocument::price);
+                case "averageRating", "rating" -> Comparator.comparing(FacetDocument::rating);
+                case "totalSales" -> Comparator.comparingInt(FacetDocument::totalSales);
+                default -> Comparator.comparing(FacetDocument::createdAt,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+            };
+            if (order.isDescending()) {
+                comparator = comparator.reversed();
+            }
+            return comparator.thenComparing(FacetDocument::id);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.domain.product.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Pluggable full-text search over the product catalog.
+ * Implementations return ranked product IDs only; callers hydrate the page from the database.
+ */
+public interface ProductSearchEngine {
+
+    /**
+     * Returns the requested page of product IDs matching the query, best match first.
+     */
+    Page<UUID> search(String query, Pageable pageable);
+
+    /**
+     * Adds or refreshes a product in the index. Products that are no longer searchable are removed.
+     */
+    default void index(Product product) {
+    }
+
+    /**
+     * Removes a product from the index.
+     */
+    default void remove(UUID productId) {
+    }
+}
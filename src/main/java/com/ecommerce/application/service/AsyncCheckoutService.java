@@ -0,0 +1,210 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.order.CheckoutStatusDto;
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.domain.exception.CapacityExceededException;
+import com.ecommerce.domain.exception.DomainException;
+import com.ecommerce.domain.exception.EntityNotFoundException;
+import com.ecommerce.domain.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous checkout. Orders are accepted into a bounded in-process queue and answered with a
+ * ticket; a small worker pool drains the queue in micro-batches, creating each batch's orders in one
+ * transaction so that they share a connection and its round trips. If any order of a batch fails,
+ * the batch is rolled back and its orders are retried one transaction each, so one bad order only
+ * fails itself.
+ * <p>
+ * Tickets are kept in memory for the ticket TTL, so the status must be polled on the node that accepted
+ * the order.
+ */
+@Service
+public class AsyncCheckoutService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncCheckoutService.class);
+
+    private final OrderService orderService;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Ticket> queue;
+    private final Cache<UUID, Ticket> tickets;
+    private final int batchSize;
+    private final ExecutorService workers;
+    private final Timer batchTimer;
+
+    public AsyncCheckoutService(OrderService orderService, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${orders.checkout.queue-capacity:1000}") int queueCapacity,
+            @Value("${orders.checkout.workers:4}") int workerCount,
+            @Value("${orders.checkout.batch-size:20}") int batchSize,
+            @Value("${orders.checkout.ticket-ttl:PT1H}") Duration ticketTtl) {
+        this.orderService = orderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.tickets = Caffeine.newBuilder().expireAfterWrite(ticketTtl).build();
+        this.batchSize = batchSize;
+        Gauge.builder("orders.checkout.queue.size", queue, BlockingQueue::size)
+                .description("Checkouts waiting for a worker")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("orders.checkout.batch")
+                .description("Time to create one micro-batch of queued orders")
+                .register(meterRegistry);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "checkout-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::work);
+        }
+    }
+
+    /**
+     * Queues an order for creation.
+     *
+     * @throws CapacityExceededException when the queue is full
+     */
+    public CheckoutStatusDto submit(User user, CreateOrderRequest request) {
+        Ticket ticket = new Ticket(UUID.randomUUID(), user, request);
+        tickets.put(ticket.id, ticket);
+        if (!queue.offer(ticket)) {
+            tickets.invalidate(ticket.id);
+            throw new CapacityExceededException("Checkout is at capacity, please retry shortly", 1);
+        }
+        return ticket.toDto();
+    }
+
+    /**
+     * Current state of one of the user's checkouts.
+     */
+    public CheckoutStatusDto getStatus(User user, UUID ticketId) {
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null || !ticket.user.getId().equals(user.getId())) {
+            throw new EntityNotFoundException("Checkout", ticketId);
+        }
+        return ticket.toDto();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void work() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            try {
+                batchTimer.record(() -> process(batch));
+            } catch (RuntimeException e) {
+                log.error("Checkout batch failed", e);
+            }
+            batch.clear();
+        }
+    }
+
+    private void process(List<Ticket> batch) {
+        batch.forEach(ticket -> ticket.status = Status.PROCESSING);
+        if (batch.size() > 1) {
+            try {
+                List<OrderDto> orders = transactionTemplate.execute(tx -> batch.stream()
+                        .map(ticket -> orderService.createOrder(ticket.user, ticket.request))
+                        .toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).complete(orders.get(i));
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Checkout batch of {} rolled back, retrying orders one by one: {}", batch.size(),
+                        e.getMessage());
+            }
+        }
+        for (Ticket ticket : batch) {
+            try {
+                ticket.complete(orderService.createOrder(ticket.user, ticket.request));
+            } catch (RuntimeException e) {
+                ticket.fail(e);
+            }
+        }
+    }
+
+    /**
+     * Lifecycle of a queued checkout.
+     */
+    public enum Status {
+        QUEUED, PROCESSING, COMPLETED, FAILED
+    }
+
+    private static final class Ticket {
+
+        private final UUID id;
+        private final User user;
+        private final CreateOrderRequest request;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile Status status = Status.QUEUED;
+        private volatile OrderDto order;
+        private volatile String error;
+
+        private Ticket(UUID id, User user, CreateOrderRequest request) {
+            this.id = id;
+            this.user = user;
+            this.request = request;
+        }
+
+        private void complete(OrderDto order) {
+            this.order = order;
+            this.status = Status.COMPLETED;
+        }
+
+        private void fail(RuntimeException e) {
+            if (e instanceof DomainException || e instanceof IllegalArgumentException
+                    || e instanceof IllegalStateException) {
+                error = e.getMessage();
+            } else {
+                log.error("Checkout {} failed", id, e);
+                error = "An unexpected error occurred";
+            }
+            status = Status.FAILED;
+        }
+
+        private CheckoutStatusDto toDto() {
+            // status is written last, so reading it first makes the order visible whenever it is COMPLETED
+            Status current = status;
+            OrderDto created = order;
+            return new CheckoutStatusDto(id.toString(), current.name(), created == null ? null : created.getId(),
+                    created == null ? null : created.getOrderNumber(), error, submittedAt);
+        }
+    }
+}
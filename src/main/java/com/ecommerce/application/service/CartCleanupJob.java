@@ -0,0 +1,79 @@
+package com.ecommerce.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes carts nobody will come back to: carts left empty, and anonymous carts idle past the guest TTL.
+ * Works in chunks with set-based deletes, one transaction per chunk, so a large backlog never holds
+ * long locks on the carts tables.
+ */
+@Component
+public class CartCleanupJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CartCleanupJob.class);
+
+    private final CartService cartService;
+    private final Duration emptyAfter;
+    private final Duration guestTtl;
+    private final int batchSize;
+    private final Counter emptyCarts;
+    private final Counter staleCarts;
+    private final Counter purgedItems;
+
+    public CartCleanupJob(CartService cartService, MeterRegistry meterRegistry,
+            @Value("${cart.cleanup.empty-after:PT1H}") Duration emptyAfter,
+            @Value("${cart.cleanup.guest-ttl:P30D}") Duration guestTtl,
+            @Value("${cart.cleanup.batch-size:500}") int batchSize) {
+        this.cartService = cartService;
+        this.emptyAfter = emptyAfter;
+        this.guestTtl = guestTtl;
+        this.batchSize = batchSize;
+        this.emptyCarts = Counter.builder("carts.purged")
+                .description("Cart rows deleted by the cleanup job")
+                .tag("reason", "empty")
+                .register(meterRegistry);
+        this.staleCarts = Counter.builder("carts.purged")
+                .description("Cart rows deleted by the cleanup job")
+                .tag("reason", "stale")
+                .register(meterRegistry);
+        this.purgedItems = Counter.builder("cart.items.purged")
+                .description("Cart item rows deleted with stale carts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${cart.cleanup.interval-ms:3600000}",
+            fixedDelayString = "${cart.cleanup.interval-ms:3600000}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int stale = 0;
+        int items = 0;
+        CartService.PurgedCarts purged;
+        do {
+            purged = cartService.purgeStaleGuestCarts(now.minus(guestTtl), batchSize);
+            stale += purged.carts();
+            items += purged.items();
+        } while (purged.carts() == batchSize);
+        staleCarts.increment(stale);
+        purgedItems.increment(items);
+
+        int empty = 0;
+        do {
+            purged = cartService.purgeEmptyCarts(now.minus(emptyAfter), batchSize);
+            empty += purged.carts();
+        } while (purged.carts() == batchSize);
+        emptyCarts.increment(empty);
+
+        if (stale + empty > 0) {
+            log.info("Purged {} stale and {} empty carts ({} items)", stale, empty, items);
+        }
+    }
+}
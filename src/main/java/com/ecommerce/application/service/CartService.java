@@ -1,21 +1,41 @@
 package com.ecommerce.application.service;
 
 import com.ecommerce.application.dto.cart.AddToCartRequest;
+import com.ecommerce.application.dto.cart.BulkAddToCartRequest;
 import com.ecommerce.application.dto.cart.CartDto;
+import com.ecommerce.application.dto.cart.CartLinesResponse;
+import com.ecommerce.application.dto.cart.CartMutationDto;
 import com.ecommerce.domain.cart.Cart;
 import com.ecommerce.domain.cart.CartItem;
+import com.ecommerce.domain.cart.CartTotals;
 import com.ecommerce.domain.exception.EntityNotFoundException;
 import com.ecommerce.domain.exception.InsufficientStockException;
+import com.ecommerce.domain.order.ProductQuantity;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.cart.GuestCartStore;
+import com.ecommerce.infrastructure.repository.CartItemRepository;
 import com.ecommerce.infrastructure.repository.CartRepository;
+import com.ecommerce.infrastructure.repository.OrderRepository;
 import com.ecommerce.infrastructure.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -27,28 +47,46 @@ public class CartService {
     private static final Logger log = LoggerFactory.getLogger(CartService.class);
 
     private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
     private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final GuestCartStore guestCartStore;
+    private final int maxGuestLines;
 
-    public CartService(CartRepository cartRepository, ProductRepository productRepository) {
+    public CartService(CartRepository cartRepository, CartItemRepository cartItemRepository,
+            ProductRepository productRepository, OrderRepository orderRepository, GuestCartStore guestCartStore,
+            @Value("${cart.guest.max-lines:100}") int maxGuestLines) {
         this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
         this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.guestCartStore = guestCartStore;
+        this.maxGuestLines = maxGuestLines;
     }
 
-    @Transactional
+    /**
+     * Gets the user's cart; a user without one gets an empty cart that is not persisted until the first add.
+     */
+    @Transactional(readOnly = true)
     public CartDto getCart(User user) {
-        Cart cart = getOrCreateCart(user);
-        return toDto(cart);
+        return cartRepository.findByUserIdWithItems(user.getId())
+                .map(this::toDto)
+                .orElseGet(() -> toGuestDto(Map.of()));
     }
 
-    @Transactional
+    /**
+     * Gets an anonymous session's cart from the guest cart store; viewing it never writes to the database.
+     */
+    @Transactional(readOnly = true)
     public CartDto getCartBySession(String sessionId) {
-        Cart cart = cartRepository.findBySessionIdWithItems(sessionId)
-                .orElseGet(() -> {
-                    Cart newCart = new Cart();
-                    newCart.setSessionId(sessionId);
-                    return cartRepository.save(newCart);
-                });
-        return toDto(cart);
+        Map<UUID, Integer> lines = guestCartStore.lines(sessionId);
+        if (lines.isEmpty()) {
+            // Session carts persisted before guest carts moved out of the database
+            return cartRepository.findBySessionIdWithItems(sessionId)
+                    .map(this::toDto)
+                    .orElseGet(() -> toGuestDto(lines));
+        }
+        return toGuestDto(lines);
     }
 
     @Transactional
@@ -57,15 +95,55 @@ public class CartService {
         return addItemToCart(cart, request);
     }
 
+    /**
+     * Adds to the user's cart touching only the affected line; returns that line and the new totals.
+     */
     @Transactional
+    public CartMutationDto addToCartLine(User user, AddToCartRequest request) {
+        Product product = productRepository.findById(UUID.fromString(request.getProductId()))
+                .orElseThrow(() -> new EntityNotFoundException("Product", request.getProductId()));
+        Cart cart = cartRepository.findByUserId(user.getId()).orElseGet(() -> createCart(user));
+
+        CartItem item = cartItemRepository.findByCartIdAndProductId(cart.getId(), product.getId()).orElse(null);
+        int newQuantity = (item == null ? 0 : item.getQuantity()) + request.getQuantity();
+        if (product.getAvailableQuantity() < newQuantity) {
+            throw new InsufficientStockException(product.getSku(), newQuantity, product.getAvailableQuantity());
+        }
+        if (item == null) {
+            item = new CartItem();
+            item.setCart(cart);
+            item.setProduct(product);
+        }
+        item.setQuantity(newQuantity);
+        item.updateUnitPrice();
+        item = cartItemRepository.save(item);
+        log.info("Added product {} to cart (qty: {})", product.getSku(), request.getQuantity());
+
+        return toMutationDto(cart, item, null);
+    }
+
+    /**
+     * Adds to an anonymous session's cart in the guest cart store, after checking the product and its stock.
+     */
+    @Transactional(readOnly = true)
     public CartDto addToCartBySession(String sessionId, AddToCartRequest request) {
-        Cart cart = cartRepository.findBySessionIdWithItems(sessionId)
-                .orElseGet(() -> {
-                    Cart newCart = new Cart();
-                    newCart.setSessionId(sessionId);
-                    return cartRepository.save(newCart);
-                });
-        return addItemToCart(cart, request);
+        Product product = productRepository.findById(UUID.fromString(request.getProductId()))
+                .orElseThrow(() -> new EntityNotFoundException("Product", request.getProductId()));
+
+        Map<UUID, Integer> lines = guestCartStore.lines(sessionId);
+        Integer current = lines.get(product.getId());
+        if (current == null && lines.size() >= maxGuestLines) {
+            throw new IllegalArgumentException("Cart cannot hold more than " + maxGuestLines + " products");
+        }
+        int newQuantity = (current == null ? 0 : current) + request.getQuantity();
+        if (product.getAvailableQuantity() < newQuantity) {
+            throw new InsufficientStockException(product.getSku(), newQuantity, product.getAvailableQuantity());
+        }
+
+        guestCartStore.add(sessionId, product.getId(), request.getQuantity());
+        log.info("Added product {} to guest cart (qty: {})", product.getSku(), request.getQuantity());
+
+        return toGuestDto(guestCartStore.lines(sessionId));
     }
 
     private CartDto addItemToCart(Cart cart, AddToCartRequest request) {
@@ -79,10 +157,7 @@ public class CartService {
                     product.getAvailableQuantity());
         }
 
-        CartItem existingItem = cart.getItems().stream()
-                .filter(item -> item.getProduct().getId().equals(product.getId()))
-                .findFirst()
-                .orElse(null);
+        CartItem existingItem = cart.findItemByProduct(product.getId());
 
         if (existingItem != null) {
             int newQuantity = existingItem.getQuantity() + request.getQuantity();
@@ -107,13 +182,14 @@ public class CartService {
 
     @Transactional
     public CartDto updateCartItem(User user, String itemId, int quantity) {
-        Cart cart = getOrCreateCart(user);
-
-        CartItem item = cart.getItems().stream()
-                .filter(i -> i.getId().toString().equals(itemId))
-                .findFirst()
+        Cart cart = cartRepository.findByUserIdWithItems(user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("CartItem", itemId));
 
+        CartItem item = cart.findItem(parseItemId(itemId));
+        if (item == null) {
+            throw new EntityNotFoundException("CartItem", itemId);
+        }
+
         if (quantity <= 0) {
             cart.removeItem(item);
         } else {
@@ -130,78 +206,286 @@ public class CartService {
         return toDto(cart);
     }
 
+    /**
+     * Changes one line's quantity (removing it at zero) without loading the rest of the cart.
+     */
     @Transactional
-    public CartDto removeFromCart(User user, String itemId) {
-        Cart cart = getOrCreateCart(user);
+    public CartMutationDto updateCartItemLine(User user, String itemId, int quantity) {
+        CartItem item = cartItemRepository.findByIdAndUserId(parseItemId(itemId), user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("CartItem", itemId));
+
+        if (quantity <= 0) {
+            cartItemRepository.delete(item);
+            return toMutationDto(item.getCart(), null, item.getId());
+        }
+        if (item.getProduct().getAvailableQuantity() < quantity) {
+            throw new InsufficientStockException(
+                    item.getProduct().getSku(),
+                    quantity,
+                    item.getProduct().getAvailableQuantity());
+        }
+        item.setQuantity(quantity);
+        return toMutationDto(item.getCart(), item, null);
+    }
 
-        CartItem item = cart.getItems().stream()
-                .filter(i -> i.getId().toString().equals(itemId))
-                .findFirst()
+    @Transactional
+    public CartDto removeFromCart(User user, String itemId) {
+        Cart cart = cartRepository.findByUserIdWithItems(user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("CartItem", itemId));
 
+        CartItem item = cart.findItem(parseItemId(itemId));
+        if (item == null) {
+            throw new EntityNotFoundException("CartItem", itemId);
+        }
+
         cart.removeItem(item);
         cart = cartRepository.save(cart);
 
         return toDto(cart);
     }
 
+    /**
+     * Removes one line without loading the rest of the cart.
+     */
+    @Transactional
+    public CartMutationDto removeFromCartLine(User user, String itemId) {
+        CartItem item = cartItemRepository.findByIdAndUserId(parseItemId(itemId), user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("CartItem", itemId));
+
+        cartItemRepository.delete(item);
+        return toMutationDto(item.getCart(), null, item.getId());
+    }
+
     @Transactional
     public void clearCart(User user) {
-        Cart cart = getOrCreateCart(user);
-        cart.clear();
-        cartRepository.save(cart);
+        cartRepository.findByUserIdWithItems(user.getId()).ifPresent(cart -> {
+            cart.clear();
+            cartRepository.save(cart);
+        });
+    }
+
+    /**
+     * Moves the session's guest cart into the user's cart; this is where a guest cart first reaches the database.
+     * All guest lines are merged in memory against one bulk product load and saved together; a line whose
+     * product is gone or whose combined quantity exceeds the stock is left out and reported.
+     */
+    @Transactional
+    public CartLinesResponse mergeCart(User user, String sessionId) {
+        Map<UUID, Integer> guestLines = new LinkedHashMap<>(guestCartStore.lines(sessionId));
+        // Session carts persisted before guest carts moved out of the database
+        Optional<Cart> legacyCart = cartRepository.findBySessionIdWithItems(sessionId);
+        legacyCart.ifPresent(guestCart -> guestCart.getItems().forEach(item ->
+                guestLines.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum)));
+        if (guestLines.isEmpty()) {
+            return new CartLinesResponse(getCart(user), 0, List.of());
+        }
+
+        CartLinesResponse merged = addLines(user, guestLines, productsById(guestLines.keySet()), List.of());
+        guestCartStore.remove(sessionId);
+        legacyCart.ifPresent(cartRepository::delete);
+
+        log.info("Merged {} of {} guest cart lines", merged.getAdded(), merged.getResults().size());
+        return merged;
     }
 
+    /**
+     * Adds many lines to the user's cart at once: products are resolved with one query by id and one by SKU,
+     * and the cart is saved once. Lines that cannot be added are reported instead of failing the request;
+     * unknown products come first in the results, followed by the resolved lines merged per product.
+     */
     @Transactional
-    public CartDto mergeCart(User user, String sessionId) {
-        Cart userCart = getOrCreateCart(user);
-
-        cartRepository.findBySessionIdWithItems(sessionId).ifPresent(guestCart -> {
-            for (CartItem guestItem : guestCart.getItems()) {
-                AddToCartRequest request = new AddToCartRequest(
-                        guestItem.getProduct().getId().toString(),
-                        guestItem.getQuantity());
-                try {
-                    addItemToCart(userCart, request);
-                } catch (InsufficientStockException e) {
-                    log.warn("Could not merge cart item due to insufficient stock: {}",
-                            guestItem.getProduct().getSku());
-                }
+    public CartLinesResponse addToCartBulk(User user, BulkAddToCartRequest request) {
+        List<UUID> ids = new ArrayList<>();
+        List<String> skus = new ArrayList<>();
+        for (BulkAddToCartRequest.Line line : request.getLines()) {
+            if (line.getSku() != null) {
+                skus.add(line.getSku());
+            } else {
+                parseProductId(line.getProductId()).ifPresent(ids::add);
             }
-            cartRepository.delete(guestCart);
-        });
+        }
+        Map<UUID, Product> products = new HashMap<>(productsById(ids));
+        Map<String, Product> productsBySku = skus.isEmpty() ? Map.of()
+                : productRepository.findBySkuIn(skus).stream()
+                        .collect(Collectors.toMap(Product::getSku, Function.identity()));
+        productsBySku.values().forEach(product -> products.put(product.getId(), product));
+
+        Map<UUID, Integer> lines = new LinkedHashMap<>();
+        List<CartLinesResponse.Result> unresolved = new ArrayList<>();
+        for (BulkAddToCartRequest.Line line : request.getLines()) {
+            Product product = line.getSku() != null
+                    ? productsBySku.get(line.getSku())
+                    : parseProductId(line.getProductId()).map(products::get).orElse(null);
+            if (product == null) {
+                unresolved.add(new CartLinesResponse.Result(line.getProductId(), line.getSku(), line.getQuantity(),
+                        CartLinesResponse.Outcome.NOT_FOUND, null));
+            } else {
+                lines.merge(product.getId(), line.getQuantity(), Integer::sum);
+            }
+        }
+        if (lines.isEmpty()) {
+            return new CartLinesResponse(getCart(user), 0, unresolved);
+        }
+        return addLines(user, lines, products, unresolved);
+    }
 
-        return toDto(userCart);
+    /**
+     * Adds the products of one of the user's past orders to their cart, in the ordered quantities.
+     */
+    @Transactional
+    public CartLinesResponse reorder(User user, UUID orderId) {
+        if (!orderRepository.existsByIdAndUserId(orderId, user.getId())) {
+            throw new EntityNotFoundException("Order", orderId);
+        }
+        Map<UUID, Integer> lines = new LinkedHashMap<>();
+        for (ProductQuantity line : orderRepository.sumQuantitiesByProduct(List.of(orderId))) {
+            lines.put(line.productId(), Math.toIntExact(line.quantity()));
+        }
+        if (lines.isEmpty()) {
+            return new CartLinesResponse(getCart(user), 0, List.of());
+        }
+        return addLines(user, lines, productsById(lines.keySet()), List.of());
+    }
+
+    private CartLinesResponse addLines(User user, Map<UUID, Integer> lines, Map<UUID, Product> products,
+            List<CartLinesResponse.Result> unresolved) {
+        Cart cart = getOrCreateCart(user);
+        List<CartLinesResponse.Result> results = new ArrayList<>(unresolved);
+        results.addAll(addLines(cart, lines, products));
+        cart = cartRepository.save(cart);
+
+        int added = (int) results.stream()
+                .filter(result -> result.outcome() == CartLinesResponse.Outcome.ADDED)
+                .count();
+        return new CartLinesResponse(toDto(cart), added, results);
+    }
+
+    private Map<UUID, Product> productsById(Collection<UUID> ids) {
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    private static Optional<UUID> parseProductId(String productId) {
+        try {
+            return Optional.of(UUID.fromString(productId));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Adds each product quantity to the cart in memory. Lines whose product was not loaded or lacks stock
+     * for the cart's combined quantity are skipped.
+     */
+    private List<CartLinesResponse.Result> addLines(Cart cart, Map<UUID, Integer> lines,
+            Map<UUID, Product> products) {
+        List<CartLinesResponse.Result> results = new ArrayList<>(lines.size());
+        for (Map.Entry<UUID, Integer> line : lines.entrySet()) {
+            String productId = line.getKey().toString();
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                results.add(new CartLinesResponse.Result(productId, null, line.getValue(),
+                        CartLinesResponse.Outcome.NOT_FOUND, null));
+                continue;
+            }
+            CartItem existingItem = cart.findItemByProduct(product.getId());
+            int newQuantity = (existingItem == null ? 0 : existingItem.getQuantity()) + line.getValue();
+            if (product.getAvailableQuantity() < newQuantity) {
+                results.add(new CartLinesResponse.Result(productId, product.getSku(), line.getValue(),
+                        CartLinesResponse.Outcome.INSUFFICIENT_STOCK, product.getAvailableQuantity()));
+                continue;
+            }
+            if (existingItem != null) {
+                existingItem.setQuantity(newQuantity);
+                existingItem.updateUnitPrice();
+            } else {
+                CartItem newItem = new CartItem();
+                newItem.setProduct(product);
+                newItem.setQuantity(newQuantity);
+                newItem.setUnitPrice(product.getPrice());
+                cart.addItem(newItem);
+            }
+            results.add(new CartLinesResponse.Result(productId, product.getSku(), line.getValue(),
+                    CartLinesResponse.Outcome.ADDED, null));
+        }
+        return results;
+    }
+
+    /**
+     * Deletes up to {@code limit} carts that have no items and were last touched before the cutoff.
+     */
+    @Transactional
+    public PurgedCarts purgeEmptyCarts(LocalDateTime idleBefore, int limit) {
+        return purge(cartRepository.findEmptyIdsForUpdate(idleBefore, PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Deletes up to {@code limit} anonymous carts, with their items, that were last touched before the cutoff.
+     */
+    @Transactional
+    public PurgedCarts purgeStaleGuestCarts(LocalDateTime idleBefore, int limit) {
+        return purge(cartRepository.findStaleGuestIdsForUpdate(idleBefore, PageRequest.of(0, limit)));
+    }
+
+    private PurgedCarts purge(List<UUID> cartIds) {
+        if (cartIds.isEmpty()) {
+            return new PurgedCarts(0, 0);
+        }
+        int items = cartRepository.deleteItemsByCartIdIn(cartIds);
+        int carts = cartRepository.deleteByIdIn(cartIds);
+        return new PurgedCarts(carts, items);
     }
 
     private Cart getOrCreateCart(User user) {
         return cartRepository.findByUserIdWithItems(user.getId())
-                .orElseGet(() -> {
-                    Cart cart = new Cart();
-                    cart.setUser(user);
-                    return cartRepository.save(cart);
-                });
+                .orElseGet(() -> createCart(user));
+    }
+
+    private Cart createCart(User user) {
+        Cart cart = new Cart();
+        cart.setUser(user);
+        return cartRepository.save(cart);
+    }
+
+    private static UUID parseItemId(String itemId) {
+        try {
+            return UUID.fromString(itemId);
+        } catch (IllegalArgumentException e) {
+            throw new EntityNotFoundException("CartItem", itemId);
+        }
+    }
+
+    private CartDto toGuestDto(Map<UUID, Integer> lines) {
+        if (lines.isEmpty()) {
+            return new CartDto(null, new ArrayList<>(), null, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0);
+        }
+        Map<UUID, Product> products = productRepository.findWithImagesByIdIn(lines.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        List<CartDto.CartItemDto> items = new ArrayList<>();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int itemCount = 0;
+        for (Map.Entry<UUID, Integer> line : lines.entrySet()) {
+            Product product = products.get(line.getKey());
+            if (product == null) {
+                continue;
+            }
+            BigDecimal total = product.getPrice().multiply(BigDecimal.valueOf(line.getValue()));
+            // Guest lines have no row of their own; the product id identifies them
+            items.add(new CartDto.CartItemDto(product.getId().toString(), product.getId().toString(),
+                    product.getName(), product.getSlug(), product.getPrimaryImageUrl(), product.getSku(),
+                    product.getPrice(), line.getValue(), total, product.isInStock(),
+                    product.getAvailableQuantity()));
+            subtotal = subtotal.add(total);
+            itemCount += line.getValue();
+        }
+        return new CartDto(null, items, null, BigDecimal.ZERO, subtotal, subtotal, itemCount);
     }
 
     private CartDto toDto(Cart cart) {
         CartDto dto = new CartDto();
         dto.setId(cart.getId().toString());
         dto.setItems(cart.getItems().stream()
-                .map(item -> {
-                    CartDto.CartItemDto itemDto = new CartDto.CartItemDto();
-                    itemDto.setId(item.getId().toString());
-                    itemDto.setProductId(item.getProduct().getId().toString());
-                    itemDto.setProductName(item.getProduct().getName());
-                    itemDto.setProductSlug(item.getProduct().getSlug());
-                    itemDto.setProductImage(item.getProduct().getPrimaryImageUrl());
-                    itemDto.setProductSku(item.getProduct().getSku());
-                    itemDto.setUnitPrice(item.getUnitPrice());
-                    itemDto.setQuantity(item.getQuantity());
-                    itemDto.setTotal(item.getTotal());
-                    itemDto.setInStock(item.getProduct().isInStock());
-                    itemDto.setAvailableQuantity(item.getProduct().getAvailableQuantity());
-                    return itemDto;
-                })
+                .map(this::toItemDto)
                 .collect(Collectors.toList()));
         dto.setDiscountCode(cart.getDiscountCode());
         dto.setDiscountAmount(cart.getDiscountAmount());
@@ -210,4 +494,39 @@ public class CartService {
         dto.setItemCount(cart.getItemCount());
         return dto;
     }
+
+    /**
+     * Builds the mutation response; the totals come from one aggregate query instead of the loaded lines.
+     */
+    private CartMutationDto toMutationDto(Cart cart, CartItem item, UUID removedItemId) {
+        CartTotals totals = cartItemRepository.sumTotals(cart.getId());
+        BigDecimal discount = cart.getDiscountAmount() != null ? cart.getDiscountAmount() : BigDecimal.ZERO;
+        return new CartMutationDto(cart.getId().toString(),
+                item != null ? toItemDto(item) : null,
+                removedItemId != null ? removedItemId.toString() : null,
+                discount, totals.subtotal(), totals.subtotal().subtract(discount),
+                Math.toIntExact(totals.itemCount()));
+    }
+
+    private CartDto.CartItemDto toItemDto(CartItem item) {
+        CartDto.CartItemDto itemDto = new CartDto.CartItemDto();
+        itemDto.setId(item.getId().toString());
+        itemDto.setProductId(item.getProduct().getId().toString());
+        itemDto.setProductName(item.getProduct().getName());
+        itemDto.setProductSlug(item.getProduct().getSlug());
+        itemDto.setProductImage(item.getProduct().getPrimaryImageUrl());
+        itemDto.setProductSku(item.getProduct().getSku());
+        itemDto.setUnitPrice(item.getUnitPrice());
+        itemDto.setQuantity(item.getQuantity());
+        itemDto.setTotal(item.getTotal());
+        itemDto.setInStock(item.getProduct().isInStock());
+        itemDto.setAvailableQuantity(item.getProduct().getAvailableQuantity());
+        return itemDto;
+    }
+
+    /**
+     * Carts and cart items removed by one purge run.
+     */
+    public record PurgedCarts(int carts, int items) {
+    }
 }
@@ -0,0 +1,147 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.domain.order.OrderIdempotencyKey;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.OrderIdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Idempotent order submission. A retried POST with the same Idempotency-Key and body returns the
+ * order created by the first attempt instead of creating (and reserving stock for) another one.
+ * <p>
+ * Completed results are served from the "order-idempotency" cache; the order_idempotency_keys table is
+ * the authority. A key is claimed by inserting its row, so of two concurrent duplicates only one
+ * proceeds and the other gets a conflict. A claim whose submission died is taken over after the lease.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIdempotencyService.class);
+
+    private static final String CACHE = "order-idempotency";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository keyRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+    private final Duration ttl;
+
+    public OrderIdempotencyService(OrderService orderService, OrderIdempotencyKeyRepository keyRepository,
+            CacheManager cacheManager, ObjectMapper objectMapper,
+            @Value("${orders.idempotency.lease:PT1M}") Duration lease,
+            @Value("${orders.idempotency.ttl:PT24H}") Duration ttl) {
+        this.orderService = orderService;
+        this.keyRepository = keyRepository;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Creates the order, or returns the one already created under this key.
+     *
+     * @param idempotencyKey client-supplied key; null or blank for a plain, non-idempotent submission
+     */
+    public Result createOrder(User user, CreateOrderRequest request, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new Result(orderService.createOrder(user, request), false);
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String requestHash = hash(request);
+        String cacheKey = user.getId() + ":" + idempotencyKey + ":" + requestHash;
+        Cache cache = cacheManager.getCache(CACHE);
+        Cache.ValueWrapper cached = cache.get(cacheKey);
+        if (cached != null) {
+            return new Result((OrderDto) cached.get(), true);
+        }
+
+        Optional<OrderIdempotencyKey> existing = keyRepository.findByUserIdAndIdempotencyKey(user.getId(),
+                idempotencyKey);
+        if (existing.isPresent()) {
+            OrderIdempotencyKey claim = existing.get();
+            if (!claim.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            if (claim.isCompleted()) {
+                OrderDto order = orderService.getOrder(claim.getOrderId());
+                cache.put(cacheKey, order);
+                return new Result(order, true);
+            }
+            if (claim.getCreatedAt().isAfter(LocalDateTime.now().minus(lease))) {
+                throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+            }
+            // The submission holding the claim is presumed dead; if it still completes, its order rolls back
+            keyRepository.deleteUncompleted(claim.getId());
+            log.warn("Took over stale idempotency key claim {}", claim.getId());
+        }
+
+        OrderIdempotencyKey claim;
+        try {
+            claim = keyRepository.saveAndFlush(new OrderIdempotencyKey(user.getId(), idempotencyKey, requestHash));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        }
+
+        OrderDto order;
+        try {
+            order = orderService.createOrder(user, request, claim.getId());
+        } catch (RuntimeException e) {
+            // Let the client retry the same key after a failed attempt
+            keyRepository.deleteUncompleted(claim.getId());
+            throw e;
+        }
+        cache.put(cacheKey, order);
+        return new Result(order, false);
+    }
+
+    /**
+     * Drops keys older than the retention period; clients must not retry beyond it.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = keyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String hash(CreateOrderRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint order request", e);
+        }
+    }
+
+    /**
+     * The order and whether it was created by an earlier request with the same key.
+     */
+    public record Result(OrderDto order, boolean replayed) {
+    }
+}
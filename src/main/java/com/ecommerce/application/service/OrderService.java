@@ -1,29 +1,49 @@
 package com.ecommerce.application.service;
 
 import com.ecommerce.application.dto.common.AddressDto;
+import com.ecommerce.application.dto.common.PageCursor;
 import com.ecommerce.application.dto.common.PagedResponse;
+import com.ecommerce.application.dto.order.BulkOrderStatusResponse;
 import com.ecommerce.application.dto.order.CreateOrderRequest;
 import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.application.inventory.HotInventory;
+import com.ecommerce.application.outbox.OrderOutbox;
 import com.ecommerce.domain.exception.EntityNotFoundException;
 import com.ecommerce.domain.exception.InsufficientStockException;
 import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderEventType;
 import com.ecommerce.domain.order.OrderItem;
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderStatusView;
+import com.ecommerce.domain.order.ProductQuantity;
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.user.Address;
 import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.id.SnowflakeIdGenerator;
+import com.ecommerce.infrastructure.repository.OrderIdempotencyKeyRepository;
 import com.ecommerce.infrastructure.repository.OrderRepository;
 import com.ecommerce.infrastructure.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -34,12 +54,29 @@ public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
+    private static final int BULK_CHUNK_SIZE = 500;
+    private static final Set<OrderStatus> BULK_TARGETS = EnumSet.of(OrderStatus.PROCESSING, OrderStatus.SHIPPED,
+            OrderStatus.OUT_FOR_DELIVERY, OrderStatus.DELIVERED, OrderStatus.RETURN_REQUESTED, OrderStatus.RETURNED,
+            OrderStatus.REFUNDED);
+
+    private static final String RESERVATION_EXPIRED = "Reservation expired";
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
-
-    public OrderService(OrderRepository orderRepository, ProductRepository productRepository) {
+    private final HotInventory hotInventory;
+    private final OrderIdempotencyKeyRepository idempotencyKeyRepository;
+    private final SnowflakeIdGenerator idGenerator;
+    private final OrderOutbox outbox;
+
+    public OrderService(OrderRepository orderRepository, ProductRepository productRepository,
+            HotInventory hotInventory, OrderIdempotencyKeyRepository idempotencyKeyRepository,
+            SnowflakeIdGenerator idGenerator, OrderOutbox outbox) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
+        this.hotInventory = hotInventory;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idGenerator = idGenerator;
+        this.outbox = outbox;
     }
 
     /**
@@ -49,7 +86,7 @@ public class OrderService {
     public OrderDto createOrder(User user, CreateOrderRequest request) {
         // Build order
         Order order = new Order();
-        order.setOrderNumber(Order.generateOrderNumber());
+        order.setOrderNumber(idGenerator.nextId(Order.ORDER_NUMBER_PREFIX));
         order.setUser(user);
         order.setStatus(OrderStatus.PENDING);
         order.setShippingAddress(toAddress(request.getShippingAddress()));
@@ -59,24 +96,34 @@ public class OrderService {
         order.setDiscountCode(request.getDiscountCode());
         order.setNotes(request.getNotes());
 
-        BigDecimal subtotal = BigDecimal.ZERO;
-
-        // Process items
+        // Load and validate every requested product in one query before taking any row locks
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(UUID.fromString(itemRequest.getProductId()))
-                    .orElseThrow(() -> new EntityNotFoundException("Product", itemRequest.getProductId()));
-
-            // Check and reserve stock
-            if (product.getAvailableQuantity() < itemRequest.getQuantity()) {
-                throw new InsufficientStockException(
-                        product.getSku(),
-                        itemRequest.getQuantity(),
-                        product.getAvailableQuantity());
+            quantities.merge(UUID.fromString(itemRequest.getProductId()), itemRequest.getQuantity(), Integer::sum);
+        }
+        Map<UUID, Product> products = productRepository.findWithImagesByIdIn(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        for (UUID productId : quantities.keySet()) {
+            if (!products.containsKey(productId)) {
+                throw new EntityNotFoundException("Product", productId);
             }
-            product.reserveStock(itemRequest.getQuantity());
-            productRepository.save(product);
+        }
+
+        // Reserve stock with one conditional update per product; the loaded snapshot is not written back
+        Set<UUID> failed = reserveStock(quantities);
+        if (!failed.isEmpty()) {
+            throw new InsufficientStockException(failed.stream()
+                    .map(productId -> new InsufficientStockException.Line(products.get(productId).getSku(),
+                            quantities.get(productId), hotInventory.available(productId)
+                                    .orElse(products.get(productId).getAvailableQuantity())))
+                    .toList());
+        }
 
-            // Create order item
+        BigDecimal subtotal = BigDecimal.ZERO;
+
+        // Create order items
+        for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
+            Product product = products.get(UUID.fromString(itemRequest.getProductId()));
             OrderItem orderItem = OrderItem.fromProduct(product, itemRequest.getQuantity());
             order.addItem(orderItem);
             subtotal = subtotal.add(orderItem.getTotal());
@@ -88,11 +135,25 @@ public class OrderService {
                 subtotal.add(order.getShippingAmount()).add(order.getTaxAmount()).subtract(order.getDiscountAmount()));
 
         order = orderRepository.save(order);
+        outbox.record(OrderEventType.CREATED, order, user.getEmail());
         log.info("Order created: {} for user: {}", order.getOrderNumber(), user.getUsername());
 
         return toDto(order);
     }
 
+    /**
+     * Creates an order and records it on the given idempotency key claim in the same transaction.
+     * If the claim was taken over in the meantime, the order is rolled back.
+     */
+    @Transactional
+    public OrderDto createOrder(User user, CreateOrderRequest request, UUID idempotencyKeyId) {
+        OrderDto order = createOrder(user, request);
+        if (idempotencyKeyRepository.markCompleted(idempotencyKeyId, UUID.fromString(order.getId())) == 0) {
+            throw new IllegalStateException("Idempotency key is no longer held by this request");
+        }
+        return order;
+    }
+
     /**
      * Gets an order by ID.
      */
@@ -122,6 +183,24 @@ public class OrderService {
         return PagedResponse.of(orders.map(this::toDto));
     }
 
+    /**
+     * Gets orders for a user with keyset pagination, newest first. Pass a blank cursor for the first page.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<OrderDto> getUserOrders(User user, String cursor, int size) {
+        PageRequest limit = PagedResponse.keysetLimit(size);
+        boolean first = cursor == null || cursor.isBlank();
+        List<Order> rows;
+        if (first) {
+            rows = orderRepository.findByUserIdFirstPage(user.getId(), limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = orderRepository.findByUserIdAfter(user.getId(), after.createdAt(), after.id(), limit);
+        }
+        return PagedResponse.ofKeyset(rows, size, first,
+                order -> new PageCursor(order.getCreatedAt(), order.getId()), this::toDto);
+    }
+
     /**
      * Confirms an order after payment.
      */
@@ -133,13 +212,13 @@ public class OrderService {
         order.confirm();
 
         // Confirm stock reduction
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.confirmSale(item.getQuantity());
-            productRepository.save(product);
-        }
+        Map<UUID, Integer> sold = quantitiesByProduct(order);
+        Map<UUID, Integer> hot = hotInventory.hotLines(sold);
+        hotInventory.confirmSale(hot);
+        productRepository.confirmSale(withoutLines(sold, hot));
 
         order = orderRepository.save(order);
+        outbox.record(OrderEventType.CONFIRMED, order, order.getUser().getEmail());
         log.info("Order confirmed: {}", order.getOrderNumber());
 
         return toDto(order);
@@ -160,18 +239,42 @@ public class OrderService {
         order.cancel(reason);
 
         // Release reserved stock
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.releaseStock(item.getQuantity());
-            productRepository.save(product);
-        }
+        releaseStock(quantitiesByProduct(order));
 
         order = orderRepository.save(order);
+        outbox.record(OrderEventType.CANCELLED, order, order.getUser().getEmail());
         log.info("Order cancelled: {} - Reason: {}", order.getOrderNumber(), reason);
 
         return toDto(order);
     }
 
+    /**
+     * Cancels up to {@code limit} pending orders created before the cutoff and returns their reserved
+     * stock, with bulk updates rather than per-order saves, and records their CANCELLED events in the
+     * same transaction. Orders locked by a concurrent transaction (e.g. one being confirmed) are left
+     * for the next run.
+     */
+    @Transactional
+    public ExpiredReservations expirePendingOrders(LocalDateTime createdBefore, int limit) {
+        List<UUID> orderIds = orderRepository.findIdsForUpdateByStatusAndCreatedAtBefore(OrderStatus.PENDING,
+                createdBefore, PageRequest.of(0, limit));
+        if (orderIds.isEmpty()) {
+            return new ExpiredReservations(0, 0);
+        }
+
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (ProductQuantity line : orderRepository.sumQuantitiesByProduct(orderIds)) {
+            quantities.put(line.productId(), Math.toIntExact(line.quantity()));
+        }
+        orderRepository.markCancelled(orderIds, LocalDateTime.now(), RESERVATION_EXPIRED);
+        releaseStock(quantities);
+        outbox.recordAll(OrderEventType.CANCELLED, orderRepository.findEventViewsByIdIn(orderIds));
+
+        int units = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        log.info("Expired {} pending orders, released {} reserved units", orderIds.size(), units);
+        return new ExpiredReservations(orderIds.size(), units);
+    }
+
     /**
      * Updates order status.
      */
@@ -186,6 +289,106 @@ public class OrderService {
         return toDto(order);
     }
 
+    /**
+     * Moves many orders to one status with set-based updates, chunk by chunk. Each order is checked against
+     * the lifecycle rules in memory; the update itself is guarded by the expected statuses, so an order
+     * changed concurrently is reported as a conflict instead of being overwritten. Transitions that move
+     * stock (confirmation, cancellation, failure of a pending order) are not available in bulk.
+     */
+    @Transactional
+    public BulkOrderStatusResponse bulkUpdateStatus(Collection<UUID> orderIds, OrderStatus target) {
+        if (!BULK_TARGETS.contains(target)) {
+            throw new IllegalArgumentException("Orders cannot be moved to " + target + " in bulk");
+        }
+        Set<OrderStatus> expected = OrderStatus.predecessorsOf(target);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime completedAt = target == OrderStatus.DELIVERED ? now : null;
+
+        List<UUID> ids = List.copyOf(new LinkedHashSet<>(orderIds));
+        List<BulkOrderStatusResponse.Result> results = new ArrayList<>(ids.size());
+        int updated = 0;
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            Map<UUID, OrderStatus> current = statusesOf(chunk);
+
+            List<UUID> eligible = new ArrayList<>();
+            for (UUID id : chunk) {
+                OrderStatus status = current.get(id);
+                if (status != null && status != target && status.canTransitionTo(target)) {
+                    eligible.add(id);
+                }
+            }
+            // Only when some eligible order was not updated are their statuses read again
+            boolean reread = !eligible.isEmpty()
+                    && orderRepository.transitionStatus(eligible, expected, target, now, completedAt) < eligible.size();
+            Map<UUID, OrderStatus> after = reread ? statusesOf(eligible) : Map.of();
+
+            for (UUID id : chunk) {
+                OrderStatus status = current.get(id);
+                BulkOrderStatusResponse.Outcome outcome;
+                if (status == null) {
+                    outcome = BulkOrderStatusResponse.Outcome.NOT_FOUND;
+                } else if (status == target) {
+                    outcome = BulkOrderStatusResponse.Outcome.UNCHANGED;
+                } else if (!status.canTransitionTo(target)) {
+                    outcome = BulkOrderStatusResponse.Outcome.INVALID_TRANSITION;
+                } else if (!reread || after.get(id) == target) {
+                    outcome = BulkOrderStatusResponse.Outcome.UPDATED;
+                    updated++;
+                } else if (!after.containsKey(id)) {
+                    // Deleted concurrently
+                    outcome = BulkOrderStatusResponse.Outcome.NOT_FOUND;
+                } else {
+                    outcome = BulkOrderStatusResponse.Outcome.CONFLICT;
+                }
+                results.add(new BulkOrderStatusResponse.Result(id.toString(), outcome,
+                        status == null ? null : status.name()));
+            }
+        }
+        log.info("Bulk status change to {}: {} of {} orders updated", target, updated, ids.size());
+        return new BulkOrderStatusResponse(target.name(), updated, results);
+    }
+
+    private Map<UUID, OrderStatus> statusesOf(Collection<UUID> ids) {
+        Map<UUID, OrderStatus> statuses = new HashMap<>();
+        for (OrderStatusView view : orderRepository.findStatusesByIdIn(ids)) {
+            statuses.put(view.id(), view.status());
+        }
+        return statuses;
+    }
+
+    /**
+     * Reserves hot-inventory lines through the in-memory counters and the rest with conditional row updates.
+     *
+     * @return ids of the products that could not be reserved
+     */
+    private Set<UUID> reserveStock(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> hot = hotInventory.hotLines(quantities);
+        Set<UUID> failed = new LinkedHashSet<>(hotInventory.reserve(hot));
+        failed.addAll(productRepository.reserveStock(withoutLines(quantities, hot)));
+        return failed;
+    }
+
+    private void releaseStock(Map<UUID, Integer> quantities) {
+        Map<UUID, Integer> hot = hotInventory.hotLines(quantities);
+        hotInventory.release(hot);
+        productRepository.releaseStock(withoutLines(quantities, hot));
+    }
+
+    private static Map<UUID, Integer> withoutLines(Map<UUID, Integer> quantities, Map<UUID, Integer> removed) {
+        Map<UUID, Integer> rest = new LinkedHashMap<>(quantities);
+        rest.keySet().removeAll(removed.keySet());
+        return rest;
+    }
+
+    private static Map<UUID, Integer> quantitiesByProduct(Order order) {
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
     private Address toAddress(AddressDto dto) {
         return new Address(
                 dto.getStreetAddress(),
@@ -245,4 +448,10 @@ public class OrderService {
         dto.setItemCount(order.getItemCount());
         return dto;
     }
+
+    /**
+     * Outcome of one expiry run: orders cancelled and stock units returned.
+     */
+    public record ExpiredReservations(int orders, int units) {
+    }
 }
@@ -1,8 +1,16 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.application.dto.common.PageCursor;
 import com.ecommerce.application.dto.common.PagedResponse;
 import com.ecommerce.application.dto.product.CreateProductRequest;
+import com.ecommerce.application.dto.product.FacetedProductResponse;
 import com.ecommerce.application.dto.product.ProductDto;
+import com.ecommerce.application.dto.product.ProductSummaryDto;
+import com.ecommerce.application.inventory.HotInventory;
+import com.ecommerce.application.search.FacetedSearchResult;
+import com.ecommerce.application.search.ProductFacetFilter;
+import com.ecommerce.application.search.ProductFacetIndex;
+import com.ecommerce.application.search.ProductSearchEngine;
 import com.ecommerce.domain.exception.EntityNotFoundException;
 import com.ecommerce.domain.product.*;
 import com.ecommerce.domain.user.User;
@@ -10,15 +18,30 @@ import com.ecommerce.infrastructure.repository.CategoryRepository;
 import com.ecommerce.infrastructure.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -29,57 +52,117 @@ public class ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductService.class);
 
+    /**
+     * The featured list only holds active featured products; other writes cannot change it.
+     */
+    private static final String FEATURED_AND_ACTIVE = "#result.featured && #result.status == 'ACTIVE'";
+
+    private static final String PRODUCTS_CACHE = "products";
+    private static final String PRODUCT_SLUGS_CACHE = "product-slugs";
+    private static final String PRODUCT_SKUS_CACHE = "product-skus";
+    // Negative entry for secondary keys; the caches do not store nulls. createProduct overwrites it.
+    private static final UUID MISSING_ID = new UUID(0, 0);
+
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final ProductSearchEngine productSearchEngine;
+    private final ProductFacetIndex productFacetIndex;
+    private final CacheManager cacheManager;
+    private final HotInventory hotInventory;
 
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository,
+            ProductSearchEngine productSearchEngine, ProductFacetIndex productFacetIndex,
+            CacheManager cacheManager, HotInventory hotInventory) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productSearchEngine = productSearchEngine;
+        this.productFacetIndex = productFacetIndex;
+        this.cacheManager = cacheManager;
+        this.hotInventory = hotInventory;
     }
 
     @Transactional(readOnly = true)
-    public PagedResponse<ProductDto> getAllProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findActiveProducts(ProductStatus.ACTIVE, pageable);
-        return PagedResponse.of(products.map(this::toDto));
+    public PagedResponse<ProductSummaryDto> getAllProducts(Pageable pageable) {
+        Page<ProductSummary> products = productRepository.findActiveSummaries(ProductStatus.ACTIVE, pageable);
+        return PagedResponse.of(products.map(this::toSummaryDto));
     }
 
+    /**
+     * Keyset-paginated listing of active products, newest first. Pass a blank cursor for the first page.
+     */
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#id")
-    public ProductDto getProductById(UUID id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Product", id));
-        return toDto(product);
+    public PagedResponse<ProductSummaryDto> getAllProducts(String cursor, int size) {
+        PageRequest limit = PagedResponse.keysetLimit(size);
+        boolean first = cursor == null || cursor.isBlank();
+        List<ProductSummary> rows;
+        if (first) {
+            rows = productRepository.findActiveSummariesFirstPage(ProductStatus.ACTIVE, limit);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = productRepository.findActiveSummariesAfter(ProductStatus.ACTIVE, after.createdAt(), after.id(),
+                    limit);
+        }
+        return PagedResponse.ofKeyset(rows, size, first,
+                product -> new PageCursor(product.createdAt(), product.id()), this::toSummaryDto);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(value = "products", key = "#id", sync = true)
+    public ProductDto getProductById(UUID id) {
+        return loadProduct(id);
+    }
+
+    /**
+     * Storefront entry point. Resolves the slug through the slug-to-id cache and then reads the
+     * id-keyed "products" cache, so a warm page load needs no database round trip.
+     */
     public ProductDto getProductBySlug(String slug) {
-        Product product = productRepository.findBySlug(slug)
-                .orElseThrow(() -> new EntityNotFoundException("Product", slug));
-        return toDto(product);
+        return getCachedBySecondaryKey(PRODUCT_SLUGS_CACHE, slug, ProductDto::getSlug,
+                () -> productRepository.findIdBySlug(slug));
+    }
+
+    public ProductDto getProductBySku(String sku) {
+        return getCachedBySecondaryKey(PRODUCT_SKUS_CACHE, sku, ProductDto::getSku,
+                () -> productRepository.findIdBySku(sku));
     }
 
     @Transactional(readOnly = true)
-    public PagedResponse<ProductDto> getProductsByCategory(UUID categoryId, Pageable pageable) {
-        Page<Product> products = productRepository.findActiveByCategory(categoryId, pageable);
-        return PagedResponse.of(products.map(this::toDto));
+    public PagedResponse<ProductSummaryDto> getProductsByCategory(UUID categoryId, Pageable pageable) {
+        Page<ProductSummary> products = productRepository.findActiveSummariesByCategory(categoryId, pageable);
+        return PagedResponse.of(products.map(this::toSummaryDto));
     }
 
     @Transactional(readOnly = true)
-    public PagedResponse<ProductDto> searchProducts(String query, Pageable pageable) {
-        Page<Product> products = productRepository.searchProducts(query, pageable);
-        return PagedResponse.of(products.map(this::toDto));
+    public PagedResponse<ProductSummaryDto> searchProducts(String query, Pageable pageable) {
+        Page<UUID> productIds = productSearchEngine.search(query, pageable);
+        return PagedResponse.of(hydrate(productIds));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "featured-products")
-    public List<ProductDto> getFeaturedProducts() {
-        return productRepository.findFeaturedProducts().stream()
-                .map(this::toDto)
+    public FacetedProductResponse browseProducts(ProductFacetFilter filter, Pageable pageable) {
+        FacetedSearchResult result = productFacetIndex.search(filter, pageable);
+
+        Map<String, List<FacetedProductResponse.FacetValueDto>> facets = new LinkedHashMap<>();
+        result.facets().forEach((facet, counts) -> facets.put(facet, counts.stream()
+                .map(count -> new FacetedProductResponse.FacetValueDto(count.value(), count.label(), count.count()))
+                .collect(Collectors.toList())));
+
+        return new FacetedProductResponse(PagedResponse.of(hydrate(result.productIds())), facets);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = "featured-products", sync = true)
+    public List<ProductSummaryDto> getFeaturedProducts() {
+        return productRepository.findFeaturedSummaries().stream()
+                .map(this::toSummaryDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Creates a draft product. Drafts never appear in the featured list, so only the new entry is cached.
+     */
     @Transactional
-    @CacheEvict(value = { "products", "featured-products" }, allEntries = true)
+    @CachePut(value = "products", key = "T(java.util.UUID).fromString(#result.id)")
     public ProductDto createProduct(CreateProductRequest request, User seller) {
         if (productRepository.existsBySku(request.getSku())) {
             throw new IllegalArgumentException("SKU already exists: " + request.getSku());
@@ -114,6 +197,7 @@ public class ProductService {
         product.setHeight(request.getHeight());
         product.setDimensionUnit(request.getDimensionUnit());
         product.setFeatured(request.isFeatured());
+        product.setHotInventory(request.isHotInventory());
         product.setDigital(request.isDigital());
         product.setRequiresShipping(request.isRequiresShipping());
         product.setMetaTitle(request.getMetaTitle());
@@ -121,27 +205,121 @@ public class ProductService {
         product.setStatus(ProductStatus.DRAFT);
 
         product = productRepository.save(product);
+        reindex(product);
+        cacheSecondaryKeys(product);
         log.info("Product created: {} (SKU: {})", product.getName(), product.getSku());
 
         return toDto(product);
     }
 
     @Transactional
-    @CacheEvict(value = "products", key = "#productId")
-    public void updateStock(UUID productId, int quantity) {
-        Product product = productRepository.findById(productId)
+    @Caching(put = @CachePut(value = "products", key = "#productId"),
+            evict = @CacheEvict(value = "featured-products", allEntries = true, condition = FEATURED_AND_ACTIVE))
+    public ProductDto updateStock(UUID productId, int quantity) {
+        Product product = productRepository.findWithDetailsById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Product", productId));
+        hotInventory.stockChanged(productId, quantity - product.getStockQuantity());
         product.setStockQuantity(quantity);
-        productRepository.save(product);
+        product = productRepository.save(product);
+        reindex(product);
+        return toDto(product);
     }
 
     @Transactional
-    @CacheEvict(value = { "products", "featured-products" }, allEntries = true)
+    @Caching(put = @CachePut(value = "products", key = "#productId"),
+            evict = @CacheEvict(value = "featured-products", allEntries = true, condition = FEATURED_AND_ACTIVE))
     public ProductDto publishProduct(UUID productId) {
-        Product product = productRepository.findById(productId)
+        Product product = productRepository.findWithDetailsById(productId)
                 .orElseThrow(() -> new EntityNotFoundException("Product", productId));
         product.setStatus(ProductStatus.ACTIVE);
-        return toDto(productRepository.save(product));
+        product = productRepository.save(product);
+        reindex(product);
+        return toDto(product);
+    }
+
+    private ProductDto loadProduct(UUID id) {
+        Product product = productRepository.findWithDetailsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Product", id));
+        return toDto(product);
+    }
+
+    /**
+     * Resolves a product through a secondary-key-to-id cache and the "products" cache. Unknown keys are
+     * cached as {@link #MISSING_ID}, so a repeated miss needs no query. An id entry that no longer matches (the product was
+     * deleted or its key changed) is dropped and re-resolved from the database once.
+     */
+    private ProductDto getCachedBySecondaryKey(String cacheName, String key, Function<ProductDto, String> keyOf,
+            Supplier<Optional<UUID>> idLookup) {
+        Cache ids = cacheManager.getCache(cacheName);
+        Cache products = cacheManager.getCache(PRODUCTS_CACHE);
+
+        UUID id = ids.get(key, () -> idLookup.get().orElse(MISSING_ID));
+        if (MISSING_ID.equals(id)) {
+            throw new EntityNotFoundException("Product", key);
+        }
+        ProductDto product = findCachedProduct(products, id);
+        if (product != null && key.equals(keyOf.apply(product))) {
+            return product;
+        }
+
+        ids.evict(key);
+        UUID current = idLookup.get().orElseThrow(() -> new EntityNotFoundException("Product", key));
+        product = findCachedProduct(products, current);
+        if (product == null) {
+            throw new EntityNotFoundException("Product", key);
+        }
+        ids.put(key, current);
+        return product;
+    }
+
+    /**
+     * The product from the "products" cache or the database, or null if it no longer exists.
+     */
+    private ProductDto findCachedProduct(Cache products, UUID id) {
+        try {
+            return products.get(id, () -> loadProduct(id));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof EntityNotFoundException) {
+                return null;
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void cacheSecondaryKeys(Product product) {
+        cacheManager.getCache(PRODUCT_SLUGS_CACHE).put(product.getSlug(), product.getId());
+        cacheManager.getCache(PRODUCT_SKUS_CACHE).put(product.getSku(), product.getId());
+    }
+
+    /**
+     * Refreshes the product in the in-memory search and facet indexes once the transaction commits,
+     * so a rolled-back change never becomes searchable and index locks are not taken under row locks.
+     */
+    private void reindex(Product product) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                productSearchEngine.index(product);
+                productFacetIndex.index(product);
+            }
+        });
+    }
+
+    /**
+     * Loads listing summaries for a page of ranked IDs, preserving the ranking order.
+     */
+    private Page<ProductSummaryDto> hydrate(Page<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return new PageImpl<>(List.of(), productIds.getPageable(), productIds.getTotalElements());
+        }
+        Map<UUID, ProductSummary> products = productRepository.findSummariesByIdIn(productIds.getContent()).stream()
+                .collect(Collectors.toMap(ProductSummary::id, Function.identity()));
+        List<ProductSummaryDto> content = productIds.getContent().stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .map(this::toSummaryDto)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, productIds.getPageable(), productIds.getTotalElements());
     }
 
     private String generateSlug(String name) {
@@ -195,7 +373,7 @@ public class ProductService {
                         img.isPrimary()))
                 .collect(Collectors.toList()));
 
-        dto.setTags(product.getTags());
+        dto.setTags(new HashSet<>(product.getTags()));
         dto.setAverageRating(product.getAverageRating());
         dto.setReviewCount(product.getReviewCount());
         dto.setTotalSales(product.getTotalSales());
@@ -206,4 +384,20 @@ public class ProductService {
         dto.setCreatedAt(product.getCreatedAt());
         return dto;
     }
+
+    private ProductSummaryDto toSummaryDto(ProductSummary product) {
+        ProductSummaryDto dto = new ProductSummaryDto();
+        dto.setId(product.id().toString());
+        dto.setName(product.name());
+        dto.setSlug(product.slug());
+        dto.setPrice(product.price());
+        dto.setCompareAtPrice(product.compareAtPrice());
+        dto.setPrimaryImageUrl(product.primaryImageUrl());
+        dto.setAverageRating(product.averageRating());
+        dto.setReviewCount(product.reviewCount());
+        dto.setStockQuantity(product.stockQuantity());
+        dto.setInStock(product.availableQuantity() > 0);
+        dto.setDiscountPercentage(product.discountPercentage());
+        return dto;
+    }
 }
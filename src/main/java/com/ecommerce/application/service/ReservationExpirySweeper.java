@@ -0,0 +1,50 @@
+package com.ecommerce.application.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Cancels checkouts that stayed PENDING longer than the reservation TTL so that their reserved stock
+ * becomes sellable again. Works through expired orders in chunks, one transaction per chunk.
+ */
+@Component
+public class ReservationExpirySweeper {
+
+    private final OrderService orderService;
+    private final Duration ttl;
+    private final int batchSize;
+    private final Counter expiredOrders;
+    private final Counter reclaimedUnits;
+
+    public ReservationExpirySweeper(OrderService orderService, MeterRegistry meterRegistry,
+            @Value("${orders.reservation.ttl:PT30M}") Duration ttl,
+            @Value("${orders.reservation.sweep-batch-size:200}") int batchSize) {
+        this.orderService = orderService;
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.expiredOrders = Counter.builder("orders.reservations.expired")
+                .description("Pending orders cancelled because their reservation expired")
+                .register(meterRegistry);
+        this.reclaimedUnits = Counter.builder("inventory.reservations.reclaimed")
+                .description("Reserved stock units returned by expired orders")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${orders.reservation.sweep-interval-ms:60000}",
+            fixedDelayString = "${orders.reservation.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        OrderService.ExpiredReservations expired;
+        do {
+            expired = orderService.expirePendingOrders(cutoff, batchSize);
+            expiredOrders.increment(expired.orders());
+            reclaimedUnits.increment(expired.units());
+        } while (expired.orders() == batchSize);
+    }
+}
@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Shopping cart entity for managing user's selected products before checkout.
@@ -33,6 +36,13 @@ public class Cart extends BaseEntity {
     @Column(name = "discount_amount", precision = 12, scale = 2)
     private BigDecimal discountAmount = BigDecimal.ZERO;
 
+    // Lookup indexes over items, built on first use and kept in step by the business methods
+    @Transient
+    private Map<UUID, CartItem> itemsByProduct;
+
+    @Transient
+    private Map<UUID, CartItem> itemsById;
+
     public Cart() {
         this.items = new ArrayList<>();
         this.discountAmount = BigDecimal.ZERO;
@@ -61,6 +71,7 @@ public class Cart extends BaseEntity {
 
     public void setItems(List<CartItem> items) {
         this.items = items;
+        resetIndexes();
     }
 
     public String getDiscountCode() {
@@ -82,19 +93,51 @@ public class Cart extends BaseEntity {
     // ================== Business Methods ==================
 
     public void addItem(CartItem item) {
-        for (CartItem existingItem : items) {
-            if (existingItem.getProduct().getId().equals(item.getProduct().getId())) {
-                existingItem.setQuantity(existingItem.getQuantity() + item.getQuantity());
-                return;
-            }
+        CartItem existingItem = findItemByProduct(item.getProduct().getId());
+        if (existingItem != null) {
+            existingItem.setQuantity(existingItem.getQuantity() + item.getQuantity());
+            return;
         }
         items.add(item);
         item.setCart(this);
+        itemsByProduct.put(item.getProduct().getId(), item);
+        // a new item has no id until it is persisted
+        itemsById = null;
     }
 
     public void removeItem(CartItem item) {
         items.remove(item);
         item.setCart(null);
+        if (itemsByProduct != null) {
+            itemsByProduct.remove(item.getProduct().getId());
+        }
+        if (itemsById != null && item.getId() != null) {
+            itemsById.remove(item.getId());
+        }
+    }
+
+    /**
+     * The line holding the given product, or null.
+     */
+    public CartItem findItemByProduct(UUID productId) {
+        if (itemsByProduct == null) {
+            itemsByProduct = new HashMap<>();
+            items.forEach(item -> itemsByProduct.put(item.getProduct().getId(), item));
+        }
+        return itemsByProduct.get(productId);
+    }
+
+    /**
+     * The line with the given id, or null.
+     */
+    public CartItem findItem(UUID itemId) {
+        if (itemsById == null) {
+            itemsById = new HashMap<>();
+            items.stream()
+                    .filter(item -> item.getId() != null)
+                    .forEach(item -> itemsById.put(item.getId(), item));
+        }
+        return itemsById.get(itemId);
     }
 
     public void updateItemQuantity(CartItem item, int quantity) {
@@ -108,6 +151,7 @@ public class Cart extends BaseEntity {
     public void clear() {
         items.forEach(item -> item.setCart(null));
         items.clear();
+        resetIndexes();
         discountCode = null;
         discountAmount = BigDecimal.ZERO;
     }
@@ -141,4 +185,9 @@ public class Cart extends BaseEntity {
         this.discountCode = null;
         this.discountAmount = BigDecimal.ZERO;
     }
+
+    private void resetIndexes() {
+        itemsByProduct = null;
+        itemsById = null;
+    }
 }
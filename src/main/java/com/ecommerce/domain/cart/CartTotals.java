@@ -0,0 +1,9 @@
+package com.ecommerce.domain.cart;
+
+import java.math.BigDecimal;
+
+/**
+ * Subtotal and item count of a cart, aggregated over its lines.
+ */
+public record CartTotals(BigDecimal subtotal, long itemCount) {
+}
@@ -14,13 +14,14 @@ import java.util.UUID;
 /**
  * Base entity class providing common fields for all domain entities.
  * Implements JPA auditing for automatic timestamp and user tracking.
+ * Ids are time-ordered UUIDv7 for index locality.
  */
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
 public abstract class BaseEntity implements Serializable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -0,0 +1,18 @@
+package com.ecommerce.domain.exception;
+
+/**
+ * Exception thrown when work is refused because a bounded resource is full; the client should retry later.
+ */
+public class CapacityExceededException extends DomainException {
+
+    private final long retryAfterSeconds;
+
+    public CapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,31 +1,48 @@
 package com.ecommerce.domain.exception;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Exception thrown when there's insufficient stock for an operation.
+ * When several lines of one request fail, all of them are reported; the single-line
+ * accessors describe the first.
  */
 public class InsufficientStockException extends DomainException {
 
-    private final String productSku;
-    private final int requestedQuantity;
-    private final int availableQuantity;
+    private final List<Line> lines;
 
     public InsufficientStockException(String productSku, int requestedQuantity, int availableQuantity) {
-        super(String.format("Insufficient stock for product %s. Requested: %d, Available: %d",
-                productSku, requestedQuantity, availableQuantity));
-        this.productSku = productSku;
-        this.requestedQuantity = requestedQuantity;
-        this.availableQuantity = availableQuantity;
+        this(List.of(new Line(productSku, requestedQuantity, availableQuantity)));
+    }
+
+    public InsufficientStockException(List<Line> lines) {
+        super(lines.stream()
+                .map(line -> String.format("Insufficient stock for product %s. Requested: %d, Available: %d",
+                        line.productSku(), line.requestedQuantity(), line.availableQuantity()))
+                .collect(Collectors.joining("; ")));
+        this.lines = List.copyOf(lines);
     }
 
     public String getProductSku() {
-        return productSku;
+        return lines.get(0).productSku();
     }
 
     public int getRequestedQuantity() {
-        return requestedQuantity;
+        return lines.get(0).requestedQuantity();
     }
 
     public int getAvailableQuantity() {
-        return availableQuantity;
+        return lines.get(0).availableQuantity();
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    /**
+     * A product that could not be supplied in the requested quantity.
+     */
+    public record Line(String productSku, int requestedQuantity, int availableQuantity) {
     }
 }
@@ -26,6 +26,11 @@ import java.util.List;
 })
 public class Order extends BaseEntity {
 
+    /**
+     * Prefix of order numbers; the rest comes from the shared id generator.
+     */
+    public static final String ORDER_NUMBER_PREFIX = "ORD-";
+
     @NotBlank
     @Column(name = "order_number", unique = true, nullable = false)
     private String orderNumber;
@@ -408,12 +413,4 @@ public class Order extends BaseEntity {
                 .mapToInt(OrderItem::getQuantity)
                 .sum();
     }
-
-    /**
-     * Generates a unique order number.
-     */
-    public static String generateOrderNumber() {
-        return "ORD-" + System.currentTimeMillis() + "-" +
-                String.format("%04d", (int) (Math.random() * 10000));
-    }
 }
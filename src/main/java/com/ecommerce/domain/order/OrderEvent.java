@@ -0,0 +1,148 @@
+package com.ecommerce.domain.order;
+
+import com.ecommerce.domain.common.BaseEntity;
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Outbox entry for an order lifecycle event. Written in the same transaction as the order change, so an
+ * event exists exactly when the change committed; the outbox relay hands it to the event handlers and
+ * deletes it. Carries what the handlers need so that they do not have to reload the order.
+ */
+@Entity
+@Table(name = "order_outbox", indexes = {
+        @Index(name = "idx_order_outbox_available", columnList = "available_at")
+})
+public class OrderEvent extends BaseEntity {
+
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private OrderEventType type;
+
+    @Column(name = "order_number", nullable = false)
+    private String orderNumber;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(name = "total", precision = 12, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "currency", length = 3)
+    private String currency;
+
+    @Column(name = "reason")
+    private String reason;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /**
+     * When the event is next due; null once it has been given up on.
+     */
+    @Column(name = "available_at")
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /**
+     * Comma-separated names of the handlers that have already processed the event, so a retry
+     * skips them.
+     */
+    @Column(name = "completed_handlers")
+    private String completedHandlers;
+
+    protected OrderEvent() {
+    }
+
+    public OrderEvent(OrderEventType type, Order order, String customerEmail) {
+        this(type, new OrderEventView(order.getId(), order.getOrderNumber(), customerEmail, order.getTotal(),
+                order.getCurrency(), order.getCancellationReason()));
+    }
+
+    public OrderEvent(OrderEventType type, OrderEventView order) {
+        this.orderId = order.id();
+        this.type = type;
+        this.orderNumber = order.orderNumber();
+        this.customerEmail = order.customerEmail();
+        this.total = order.total();
+        this.currency = order.currency();
+        this.reason = order.cancellationReason();
+        this.availableAt = LocalDateTime.now();
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public OrderEventType getType() {
+        return type;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public boolean isCompletedBy(String handler) {
+        return completedHandlers != null && Arrays.asList(completedHandlers.split(",")).contains(handler);
+    }
+
+    public void completedBy(String handler) {
+        completedHandlers = completedHandlers == null ? handler : completedHandlers + "," + handler;
+    }
+
+    /**
+     * Takes the event for delivery outside the database transaction: it is not due again until
+     * {@code claimTimeout} has passed, so other relays leave it alone unless this one dies.
+     */
+    public void claim(Duration claimTimeout) {
+        this.availableAt = LocalDateTime.now().plus(claimTimeout);
+    }
+
+    /**
+     * Records a failed delivery and schedules the next attempt, or parks the event when
+     * {@code retryAfter} is null.
+     */
+    public void failed(String error, Duration retryAfter) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        this.availableAt = retryAfter == null ? null : LocalDateTime.now().plus(retryAfter);
+    }
+}
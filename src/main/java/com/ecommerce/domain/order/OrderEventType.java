@@ -0,0 +1,10 @@
+package com.ecommerce.domain.order;
+
+/**
+ * Order lifecycle events published through the order outbox.
+ */
+public enum OrderEventType {
+    CREATED,
+    CONFIRMED,
+    CANCELLED
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.domain.order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * The columns of an order that its outbox events carry, loaded without the rest of the order.
+ */
+public record OrderEventView(UUID id, String orderNumber, String customerEmail, BigDecimal total, String currency,
+        String cancellationReason) {
+}
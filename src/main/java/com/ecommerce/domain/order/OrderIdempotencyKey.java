@@ -0,0 +1,64 @@
+package com.ecommerce.domain.order;
+
+import com.ecommerce.domain.common.BaseEntity;
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Client-supplied Idempotency-Key of an order submission. The row is claimed before the order is
+ * created and gets the order id in the same transaction as the order; a row without an order id
+ * is a submission still in progress.
+ */
+@Entity
+@Table(name = "order_idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_order_idempotency_user_key", columnNames = { "user_id", "idempotency_key" })
+}, indexes = {
+        @Index(name = "idx_order_idempotency_created", columnList = "created_at")
+})
+public class OrderIdempotencyKey extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the request body, to reject reuse of a key for a different request.
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    protected OrderIdempotencyKey() {
+    }
+
+    public OrderIdempotencyKey(UUID userId, String idempotencyKey, String requestHash) {
+        this.userId = userId;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public boolean isCompleted() {
+        return orderId != null;
+    }
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.domain.order;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Enumeration of order statuses.
  */
@@ -57,5 +60,41 @@ public enum OrderStatus {
     /**
      * Order failed (payment failed, etc.)
      */
-    FAILED
+    FAILED;
+
+    private Set<OrderStatus> next;
+
+    static {
+        PENDING.next = EnumSet.of(CONFIRMED, CANCELLED, FAILED);
+        CONFIRMED.next = EnumSet.of(PROCESSING, CANCELLED, REFUNDED);
+        PROCESSING.next = EnumSet.of(SHIPPED, CANCELLED);
+        SHIPPED.next = EnumSet.of(OUT_FOR_DELIVERY, DELIVERED);
+        OUT_FOR_DELIVERY.next = EnumSet.of(DELIVERED);
+        DELIVERED.next = EnumSet.of(RETURN_REQUESTED);
+        RETURN_REQUESTED.next = EnumSet.of(RETURNED, DELIVERED);
+        RETURNED.next = EnumSet.of(REFUNDED);
+        CANCELLED.next = EnumSet.of(REFUNDED);
+        REFUNDED.next = EnumSet.noneOf(OrderStatus.class);
+        FAILED.next = EnumSet.noneOf(OrderStatus.class);
+    }
+
+    /**
+     * Whether the regular order lifecycle allows moving from this status to the target.
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return next.contains(target);
+    }
+
+    /**
+     * Statuses from which the target can be reached in one step.
+     */
+    public static Set<OrderStatus> predecessorsOf(OrderStatus target) {
+        Set<OrderStatus> predecessors = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.canTransitionTo(target)) {
+                predecessors.add(status);
+            }
+        }
+        return predecessors;
+    }
 }
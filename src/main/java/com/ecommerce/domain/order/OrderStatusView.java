@@ -0,0 +1,9 @@
+package com.ecommerce.domain.order;
+
+import java.util.UUID;
+
+/**
+ * Id and status of an order, loaded without the rest of the order.
+ */
+public record OrderStatusView(UUID id, OrderStatus status) {
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.domain.order;
+
+import java.util.UUID;
+
+/**
+ * Total quantity of one product across a set of order lines.
+ */
+public record ProductQuantity(UUID productId, long quantity) {
+}
@@ -19,6 +19,11 @@ import java.time.LocalDateTime;
 })
 public class Payment extends BaseEntity {
 
+    /**
+     * Prefix of transaction ids; the rest comes from the shared id generator.
+     */
+    public static final String TRANSACTION_ID_PREFIX = "TXN-";
+
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
@@ -299,9 +304,4 @@ public class Payment extends BaseEntity {
     public BigDecimal getRefundableAmount() {
         return amount.subtract(refundAmount);
     }
-
-    public static String generateTransactionId() {
-        return "TXN-" + System.currentTimeMillis() + "-" +
-                String.format("%06d", (int) (Math.random() * 1000000));
-    }
 }
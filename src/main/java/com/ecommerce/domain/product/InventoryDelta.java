@@ -0,0 +1,23 @@
+package com.ecommerce.domain.product;
+
+/**
+ * Change to a product's stock counters: units on hand, units reserved by open orders and units sold.
+ */
+public record InventoryDelta(int stock, int reserved, int sales) {
+
+    public static InventoryDelta reserve(int quantity) {
+        return new InventoryDelta(0, quantity, 0);
+    }
+
+    public static InventoryDelta release(int quantity) {
+        return new InventoryDelta(0, -quantity, 0);
+    }
+
+    public static InventoryDelta confirmSale(int quantity) {
+        return new InventoryDelta(-quantity, -quantity, quantity);
+    }
+
+    public InventoryDelta plus(InventoryDelta other) {
+        return new InventoryDelta(stock + other.stock, reserved + other.reserved, sales + other.sales);
+    }
+}
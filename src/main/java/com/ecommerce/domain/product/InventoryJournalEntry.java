@@ -0,0 +1,48 @@
+package com.ecommerce.domain.product;
+
+import com.ecommerce.domain.common.BaseEntity;
+import jakarta.persistence.*;
+
+import java.util.UUID;
+
+/**
+ * Stock change of a hot-inventory product that has been admitted by the in-memory counters but not yet
+ * applied to the products row. Written in the same transaction as the order, so a committed order always
+ * has its journal entry; the reconciler folds entries into products and deletes them.
+ */
+@Entity
+@Table(name = "inventory_journal", indexes = {
+        @Index(name = "idx_inventory_journal_product", columnList = "product_id")
+})
+public class InventoryJournalEntry extends BaseEntity {
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "stock_delta", nullable = false)
+    private int stockDelta;
+
+    @Column(name = "reserved_delta", nullable = false)
+    private int reservedDelta;
+
+    @Column(name = "sales_delta", nullable = false)
+    private int salesDelta;
+
+    protected InventoryJournalEntry() {
+    }
+
+    public InventoryJournalEntry(UUID productId, InventoryDelta delta) {
+        this.productId = productId;
+        this.stockDelta = delta.stock();
+        this.reservedDelta = delta.reserved();
+        this.salesDelta = delta.sales();
+    }
+
+    public UUID getProductId() {
+        return productId;
+    }
+
+    public InventoryDelta getDelta() {
+        return new InventoryDelta(stockDelta, reservedDelta, salesDelta);
+    }
+}
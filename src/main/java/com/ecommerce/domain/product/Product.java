@@ -130,6 +130,13 @@ public class Product extends BaseEntity {
     @Column(name = "is_digital")
     private boolean digital = false;
 
+    /**
+     * Limited-drop product whose stock is reserved through in-memory counters (see HotInventory)
+     * instead of row updates.
+     */
+    @Column(name = "is_hot_inventory")
+    private boolean hotInventory = false;
+
     @Column(name = "requires_shipping")
     private boolean requiresShipping = true;
 
@@ -367,6 +374,14 @@ public class Product extends BaseEntity {
         this.featured = featured;
     }
 
+    public boolean isHotInventory() {
+        return hotInventory;
+    }
+
+    public void setHotInventory(boolean hotInventory) {
+        this.hotInventory = hotInventory;
+    }
+
     public boolean isDigital() {
         return digital;
     }
@@ -443,6 +458,10 @@ public class Product extends BaseEntity {
     }
 
     public int getDiscountPercentage() {
+        return discountPercentage(price, compareAtPrice);
+    }
+
+    static int discountPercentage(BigDecimal price, BigDecimal compareAtPrice) {
         if (compareAtPrice == null || compareAtPrice.compareTo(price) <= 0) {
             return 0;
         }
@@ -0,0 +1,31 @@
+package com.ecommerce.domain.product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of the product columns shown on listing pages.
+ * Selected directly by ProductRepository so list queries skip entity hydration and the description column.
+ */
+public record ProductSummary(
+        UUID id,
+        String name,
+        String slug,
+        BigDecimal price,
+        BigDecimal compareAtPrice,
+        String primaryImageUrl,
+        BigDecimal averageRating,
+        Integer reviewCount,
+        Integer stockQuantity,
+        Integer reservedQuantity,
+        LocalDateTime createdAt) {
+
+    public int availableQuantity() {
+        return stockQuantity - (reservedQuantity != null ? reservedQuantity : 0);
+    }
+
+    public int discountPercentage() {
+        return Product.discountPercentage(price, compareAtPrice);
+    }
+}
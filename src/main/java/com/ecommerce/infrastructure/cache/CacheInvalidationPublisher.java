@@ -0,0 +1,55 @@
+package com.ecommerce.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Broadcasts local-tier invalidations over Redis pub/sub.
+ * Messages have the form {@code nodeId|op|cacheName|key} where op is E (evict) or C (clear).
+ */
+public class CacheInvalidationPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    static final char SEPARATOR = '|';
+    static final String EVICT = "E";
+    static final String CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(EVICT, cacheName, key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(CLEAR, cacheName, "");
+    }
+
+    private void publish(String op, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(channel,
+                    nodeId + SEPARATOR + op + SEPARATOR + cacheName + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            // Other nodes fall back to their local TTL; never fail the write because of this
+            log.warn("Failed to publish cache invalidation for {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
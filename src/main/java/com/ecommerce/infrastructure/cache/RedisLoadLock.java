@@ -0,0 +1,93 @@
+package com.ecommerce.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Cross-node single-flight for cache loads: the node that wins {@code SET NX PX} on the lock key runs
+ * the loader, the others poll the shared tier until the value appears. If the holder dies or the wait
+ * times out, the waiter loads the value itself, so a lost lock only costs a duplicate load.
+ */
+public class RedisLoadLock {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisLoadLock.class);
+
+    private static final String KEY_PREFIX = "cache-load-lock::";
+    private static final long POLL_INTERVAL_MS = 25;
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration leaseTime;
+    private final Duration waitTimeout;
+
+    public RedisLoadLock(StringRedisTemplate redisTemplate, Duration leaseTime, Duration waitTimeout) {
+        this.redisTemplate = redisTemplate;
+        this.leaseTime = leaseTime;
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * @param name   lock name, typically cache name and key
+     * @param shared reads the value from the shared tier, returning null if it is absent
+     * @param loader computes the value
+     */
+    public Object load(String name, Supplier<Object> shared, Supplier<Object> loader) {
+        String lockKey = KEY_PREFIX + name;
+        String token = UUID.randomUUID().toString();
+
+        Boolean acquired;
+        try {
+            acquired = redisTemplate.opsForValue().setIfAbsent(lockKey, token, leaseTime);
+        } catch (RuntimeException e) {
+            log.warn("Cache load lock unavailable for {}: {}", name, e.getMessage());
+            return loader.get();
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            try {
+                Object value = shared.get();
+                return value != null ? value : loader.get();
+            } finally {
+                release(lockKey, token);
+            }
+        }
+
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Object value = shared.get();
+            if (value != null) {
+                return value;
+            }
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+                break;
+            }
+        }
+        return loader.get();
+    }
+
+    private void release(String lockKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            // The lease expires on its own
+            log.warn("Failed to release cache load lock {}: {}", lockKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.ecommerce.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache that reads through a node-local tier (L1) to a shared Redis tier (L2).
+ * Writes and evictions go to both tiers and are broadcast so other nodes drop their L1 copy.
+ * L1 keys are the string form of the cache key, matching how Redis keys are built.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} (i.e. {@code @Cacheable(sync = true)}) are coalesced:
+ * only one load per key runs on a node and concurrent callers wait for its result. An optional
+ * {@link RedisLoadLock} extends this across nodes. Hot entries are refreshed probabilistically
+ * before they expire (XFetch) so that they do not all miss at the same moment.
+ * <p>
+ * Puts, evictions and clears issued inside a transaction, and the broadcasts that go with them, are
+ * applied after it commits and dropped if it rolls back, so no tier ever holds uncommitted data.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache local;
+    private final Cache remote;
+    private final CacheInvalidationPublisher publisher;
+    private final long localTtlNanos;
+    private final double earlyRefreshBeta;
+    private final RedisLoadLock loadLock;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder earlyRefreshes = new LongAdder();
+
+    /**
+     * @param publisher        broadcasts invalidations to other nodes; null when there is no shared tier
+     * @param localTtl         lifetime of local entries, used to decide on early refresh
+     * @param earlyRefreshBeta XFetch beta; larger values refresh earlier, 0 disables early refresh
+     * @param loadLock         cross-node load lock; null to coalesce loads per node only
+     */
+    public TwoLevelCache(String name, Cache local, Cache remote, CacheInvalidationPublisher publisher,
+            Duration localTtl, double earlyRefreshBeta, RedisLoadLock loadLock) {
+        super(false);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.publisher = publisher;
+        this.localTtlNanos = localTtl.toNanos();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.loadLock = loadLock;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        LocalEntry cached = localEntry(key);
+        if (cached != null) {
+            localHits.increment();
+            return cached.value();
+        }
+        return lookupRemote(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        LocalEntry cached = localEntry(key);
+        if (cached != null && !shouldRefreshEarly(cached)) {
+            localHits.increment();
+            return cast(cached.value());
+        }
+        if (cached != null) {
+            earlyRefreshes.increment();
+        } else {
+            Object shared = lookupRemote(key);
+            if (shared != null) {
+                return cast(shared);
+            }
+        }
+        return cast(loadOnce(key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        afterCommit(() -> {
+            puts.increment();
+            remote.put(key, value);
+            putLocal(key, value, 0);
+            publishEvict(key);
+        });
+    }
+
+    @Override
+    public void evict(Object key) {
+        afterCommit(() -> {
+            evictions.increment();
+            remote.evict(key);
+            local.evict(localKey(key));
+            publishEvict(key);
+        });
+    }
+
+    @Override
+    public void clear() {
+        afterCommit(() -> {
+            remote.clear();
+            local.clear();
+            if (publisher != null) {
+                publisher.publishClear(name);
+            }
+        });
+    }
+
+    public long getLocalHits() {
+        return localHits.sum();
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getPuts() {
+        return puts.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getEarlyRefreshes() {
+        return earlyRefreshes.sum();
+    }
+
+    /**
+     * Drops an entry from this node's local tier only; used when another node reports a change.
+     */
+    void evictLocal(String key) {
+        local.evict(key);
+    }
+
+    void clearLocal() {
+        local.clear();
+    }
+
+    private Object lookupRemote(Object key) {
+        ValueWrapper shared = remote.get(key);
+        if (shared == null || shared.get() == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        putLocal(key, shared.get(), 0);
+        return shared.get();
+    }
+
+    /**
+     * Runs the loader at most once per key on this node; concurrent callers share the result.
+     */
+    private Object loadOnce(Object key, Callable<?> valueLoader) {
+        String localKey = localKey(key);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(localKey, mine);
+        if (existing != null) {
+            return await(key, existing);
+        }
+        try {
+            Object value = load(key, valueLoader);
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, mine);
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        long start = System.nanoTime();
+        Object value;
+        if (loadLock != null) {
+            value = loadLock.load(name + "::" + localKey(key), () -> {
+                ValueWrapper shared = remote.get(key);
+                return shared != null ? shared.get() : null;
+            }, () -> call(key, valueLoader));
+        } else {
+            value = call(key, valueLoader);
+        }
+        if (value != null) {
+            remote.put(key, value);
+            putLocal(key, value, System.nanoTime() - start);
+        }
+        return value;
+    }
+
+    private Object call(Object key, Callable<?> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object await(Object key, CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Cache load failed for key " + key, e.getCause());
+        }
+    }
+
+    /**
+     * XFetch: refresh with a probability that rises as expiry approaches, scaled by how long the
+     * value took to compute. Entries that were not computed here (remote hits, puts) are never refreshed early.
+     */
+    private boolean shouldRefreshEarly(LocalEntry entry) {
+        if (earlyRefreshBeta <= 0 || entry.computeNanos() <= 0) {
+            return false;
+        }
+        double gap = entry.computeNanos() * earlyRefreshBeta * -Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.nanoTime() + gap >= entry.expiresAtNanos();
+    }
+
+    /**
+     * Runs a write once the current transaction commits, or right away when there is none.
+     */
+    private static void afterCommit(Runnable write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write.run();
+            }
+        });
+    }
+
+    private LocalEntry localEntry(Object key) {
+        ValueWrapper wrapper = local.get(localKey(key));
+        return wrapper != null ? (LocalEntry) wrapper.get() : null;
+    }
+
+    private void putLocal(Object key, Object value, long computeNanos) {
+        local.put(localKey(key), new LocalEntry(value, System.nanoTime() + localTtlNanos, computeNanos));
+    }
+
+    private void publishEvict(Object key) {
+        if (publisher != null) {
+            publisher.publishEvict(name, localKey(key));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private record LocalEntry(Object value, long expiresAtNanos, long computeNanos) {
+    }
+}
@@ -0,0 +1,95 @@
+package com.ecommerce.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * CacheManager combining a bounded in-process Caffeine tier with a shared tier (the Redis cache manager,
+ * or a no-op manager when Redis is disabled). Also listens on the invalidation channel and applies
+ * other nodes' evictions to the local tier.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher publisher;
+    private final Function<String, Duration> localTtl;
+    private final long localMaximumSize;
+    private final double earlyRefreshBeta;
+    private final RedisLoadLock loadLock;
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param publisher         invalidation broadcaster; null when there is no shared tier
+     * @param localTtl          local entry lifetime per cache name
+     * @param earlyRefreshBeta  XFetch beta for probabilistic early refresh; 0 disables it
+     * @param loadLock          cross-node load lock; null to coalesce loads per node only
+     * @param initialCacheNames caches created eagerly so that cache metrics are bound at startup
+     */
+    public TwoLevelCacheManager(CacheManager remoteCacheManager, CacheInvalidationPublisher publisher,
+            Function<String, Duration> localTtl, long localMaximumSize, double earlyRefreshBeta,
+            RedisLoadLock loadLock, Collection<String> initialCacheNames) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.publisher = publisher;
+        this.localTtl = localTtl;
+        this.localMaximumSize = localMaximumSize;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.loadLock = loadLock;
+        initialCacheNames.forEach(this::getCache);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache remote = remoteCacheManager.getCache(cacheName);
+            return remote == null ? null : createCache(cacheName, remote);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (publisher == null || parts.length < 4 || parts[0].equals(publisher.getNodeId())) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (CacheInvalidationPublisher.CLEAR.equals(parts[1])) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(parts[3]);
+        }
+        log.debug("Applied remote cache invalidation {} on {}", parts[1], parts[2]);
+    }
+
+    private TwoLevelCache createCache(String name, Cache remote) {
+        Duration ttl = localTtl.apply(name);
+        CaffeineCache local = new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(ttl)
+                .build(), false);
+        return new TwoLevelCache(name, local, remote, publisher, ttl, earlyRefreshBeta, loadLock);
+    }
+}
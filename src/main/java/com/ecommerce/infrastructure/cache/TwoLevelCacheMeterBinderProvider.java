@@ -0,0 +1,73 @@
+package com.ecommerce.infrastructure.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+
+/**
+ * Publishes the standard cache.gets/puts/evictions meters for two-level caches, plus
+ * cache.tier.hits split by tier (local or remote) so the local hit ratio can be tracked, and
+ * cache.early.refreshes.
+ */
+public class TwoLevelCacheMeterBinderProvider implements CacheMeterBinderProvider<TwoLevelCache> {
+
+    @Override
+    public MeterBinder getMeterBinder(TwoLevelCache cache, Iterable<Tag> tags) {
+        return new TwoLevelCacheMetrics(cache, tags);
+    }
+
+    static class TwoLevelCacheMetrics extends CacheMeterBinder<TwoLevelCache> {
+
+        TwoLevelCacheMetrics(TwoLevelCache cache, Iterable<Tag> tags) {
+            super(cache, cache.getName(), tags);
+        }
+
+        @Override
+        protected Long size() {
+            return null;
+        }
+
+        @Override
+        protected long hitCount() {
+            TwoLevelCache cache = getCache();
+            return cache == null ? 0 : cache.getLocalHits() + cache.getRemoteHits();
+        }
+
+        @Override
+        protected Long missCount() {
+            TwoLevelCache cache = getCache();
+            return cache == null ? 0L : cache.getMisses();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            TwoLevelCache cache = getCache();
+            return cache == null ? 0L : cache.getEvictions();
+        }
+
+        @Override
+        protected long putCount() {
+            TwoLevelCache cache = getCache();
+            return cache == null ? 0 : cache.getPuts();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+            FunctionCounter.builder("cache.tier.hits", getCache(), TwoLevelCache::getLocalHits)
+                    .tags(getTagsWithCacheName()).tag("tier", "local")
+                    .description("Hits served from the node-local tier")
+                    .register(registry);
+            FunctionCounter.builder("cache.tier.hits", getCache(), TwoLevelCache::getRemoteHits)
+                    .tags(getTagsWithCacheName()).tag("tier", "remote")
+                    .description("Hits served from Redis after a local miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.early.refreshes", getCache(), TwoLevelCache::getEarlyRefreshes)
+                    .tags(getTagsWithCacheName())
+                    .description("Entries reloaded ahead of expiry by probabilistic early refresh")
+                    .register(registry);
+        }
+    }
+}
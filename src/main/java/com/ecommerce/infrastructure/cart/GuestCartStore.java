@@ -0,0 +1,25 @@
+package com.ecommerce.infrastructure.cart;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Carts of anonymous sessions, kept outside the database as product id to quantity. Entries expire
+ * after a period without writes; a cart becomes a database Cart only when it is merged into a user's cart.
+ */
+public interface GuestCartStore {
+
+    /**
+     * Lines of the session's cart; empty when it has none.
+     */
+    Map<UUID, Integer> lines(String sessionId);
+
+    /**
+     * Adds to a line and extends the cart's lifetime.
+     *
+     * @return the line's new quantity
+     */
+    int add(String sessionId, UUID productId, int quantity);
+
+    void remove(String sessionId);
+}
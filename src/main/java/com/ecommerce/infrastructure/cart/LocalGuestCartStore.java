@@ -0,0 +1,54 @@
+package com.ecommerce.infrastructure.cart;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Guest carts in process memory for a single node, bounded in number of sessions; the least recently
+ * used carts are dropped first.
+ */
+public class LocalGuestCartStore implements GuestCartStore {
+
+    private final Cache<String, Map<UUID, Integer>> carts;
+
+    public LocalGuestCartStore(Duration ttl, long maximumSessions) {
+        this.carts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSessions)
+                .build();
+    }
+
+    @Override
+    public Map<UUID, Integer> lines(String sessionId) {
+        Map<UUID, Integer> lines = carts.getIfPresent(sessionId);
+        if (lines == null) {
+            return Map.of();
+        }
+        synchronized (lines) {
+            return new LinkedHashMap<>(lines);
+        }
+    }
+
+    @Override
+    public int add(String sessionId, UUID productId, int quantity) {
+        int[] total = new int[1];
+        carts.asMap().compute(sessionId, (id, lines) -> {
+            Map<UUID, Integer> updated = lines != null ? lines : new LinkedHashMap<>();
+            synchronized (updated) {
+                total[0] = updated.merge(productId, quantity, Integer::sum);
+            }
+            return updated;
+        });
+        return total[0];
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        carts.invalidate(sessionId);
+    }
+}
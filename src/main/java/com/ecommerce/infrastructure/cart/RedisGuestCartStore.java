@@ -0,0 +1,58 @@
+package com.ecommerce.infrastructure.cart;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Guest carts shared by all nodes, one Redis hash per session with a field per product. Adds are a
+ * Lua HINCRBY plus EXPIRE, so the lifetime is extended atomically with the write.
+ */
+public class RedisGuestCartStore implements GuestCartStore {
+
+    private static final String KEY_PREFIX = "cart:guest:";
+
+    private static final RedisScript<Long> ADD = new DefaultRedisScript<>(
+            "local q = redis.call('hincrby', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "redis.call('expire', KEYS[1], ARGV[3]) "
+                    + "return q",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisGuestCartStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Map<UUID, Integer> lines(String sessionId) {
+        Map<UUID, Integer> lines = new LinkedHashMap<>();
+        redisTemplate.<String, String>opsForHash().entries(key(sessionId))
+                .forEach((productId, quantity) -> lines.put(UUID.fromString(productId), Integer.parseInt(quantity)));
+        return lines;
+    }
+
+    @Override
+    public int add(String sessionId, UUID productId, int quantity) {
+        Long total = redisTemplate.execute(ADD, List.of(key(sessionId)), productId.toString(),
+                String.valueOf(quantity), String.valueOf(ttl.toSeconds()));
+        return total == null ? quantity : Math.toIntExact(total);
+    }
+
+    @Override
+    public void remove(String sessionId) {
+        redisTemplate.delete(key(sessionId));
+    }
+
+    private static String key(String sessionId) {
+        return KEY_PREFIX + sessionId;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.cart.GuestCartStore;
+import com.ecommerce.infrastructure.cart.LocalGuestCartStore;
+import com.ecommerce.infrastructure.cart.RedisGuestCartStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Guest cart store: bounded in-process carts for a single node, or Redis when several nodes serve
+ * anonymous sessions.
+ */
+@Configuration
+public class CartConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(CartConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.guest.store", havingValue = "redis")
+    public GuestCartStore redisGuestCartStore(StringRedisTemplate stringRedisTemplate,
+            @Value("${cart.guest.ttl:P7D}") Duration ttl) {
+        log.info("Guest carts in Redis (ttl {})", ttl);
+        return new RedisGuestCartStore(stringRedisTemplate, ttl);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cart.guest.store", havingValue = "local", matchIfMissing = true)
+    public GuestCartStore localGuestCartStore(@Value("${cart.guest.ttl:P7D}") Duration ttl,
+            @Value("${cart.guest.local-max-sessions:100000}") long maximumSessions) {
+        log.info("Guest carts in process (ttl {}, at most {} sessions)", ttl, maximumSessions);
+        return new LocalGuestCartStore(ttl, maximumSessions);
+    }
+}
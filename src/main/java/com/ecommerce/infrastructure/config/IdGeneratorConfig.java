@@ -0,0 +1,51 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.id.SnowflakeIdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+
+/**
+ * Generator for order numbers and payment transaction ids. Every node must use a distinct
+ * ids.node-id, and startup fails without one. Only where ids.derive-node-id is set (the dev and
+ * test profiles) is a missing id derived from the host name and process id, which is unique
+ * only with high probability.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorConfig.class);
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${ids.node-id:-1}") int nodeId,
+            @Value("${ids.derive-node-id:false}") boolean deriveNodeId) {
+        if (nodeId < 0) {
+            if (!deriveNodeId) {
+                throw new IllegalStateException("ids.node-id (ID_NODE_ID) must be set to a value from 0 to "
+                        + SnowflakeIdGenerator.MAX_NODE_ID + " that no other node uses");
+            }
+            nodeId = derivedNodeId();
+            log.warn("ids.node-id is not set; using derived node id {}", nodeId);
+        } else {
+            log.info("Id generator node id {}", nodeId);
+        }
+        return new SnowflakeIdGenerator(nodeId, Clock.systemUTC());
+    }
+
+    private static int derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        int hash = 31 * host.hashCode() + Long.hashCode(ProcessHandle.current().pid());
+        return (hash ^ (hash >>> 16)) & SnowflakeIdGenerator.MAX_NODE_ID;
+    }
+}
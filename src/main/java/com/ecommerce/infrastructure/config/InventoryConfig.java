@@ -0,0 +1,36 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.inventory.HotStockCounter;
+import com.ecommerce.infrastructure.inventory.RedisHotStockCounter;
+import com.ecommerce.infrastructure.inventory.StripedHotStockCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Counter store for hot-inventory products: in-process striped counters for a single node,
+ * or Redis when several nodes take orders.
+ */
+@Configuration
+public class InventoryConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryConfig.class);
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.hot.store", havingValue = "redis")
+    public HotStockCounter redisHotStockCounter(StringRedisTemplate stringRedisTemplate) {
+        log.info("Hot inventory counters in Redis");
+        return new RedisHotStockCounter(stringRedisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "inventory.hot.store", havingValue = "local", matchIfMissing = true)
+    public HotStockCounter stripedHotStockCounter(@Value("${inventory.hot.stripes:16}") int stripes) {
+        log.info("Hot inventory counters in process ({} stripes)", stripes);
+        return new StripedHotStockCounter(stripes);
+    }
+}
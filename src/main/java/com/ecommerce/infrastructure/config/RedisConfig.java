@@ -1,11 +1,17 @@
 package com.ecommerce.infrastructure.config;
 
+import com.ecommerce.infrastructure.cache.CacheInvalidationPublisher;
+import com.ecommerce.infrastructure.cache.RedisLoadLock;
+import com.ecommerce.infrastructure.cache.TwoLevelCacheManager;
+import com.ecommerce.infrastructure.cache.TwoLevelCacheMeterBinderProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -13,16 +19,22 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Redis cache configuration with graceful fallback.
+ * Cache configuration with graceful fallback.
+ * With Redis enabled, caches are two-tier: a bounded Caffeine tier per node in front of Redis, with
+ * evictions broadcast over pub/sub. Without Redis, the same cache runs with only the Caffeine tier.
  */
 @Configuration
 @EnableCaching
@@ -30,6 +42,33 @@ public class RedisConfig {
 
         private static final Logger log = LoggerFactory.getLogger(RedisConfig.class);
 
+        private static final Duration DEFAULT_TTL = Duration.ofHours(1);
+        private static final Map<String, Duration> CACHE_TTLS = new LinkedHashMap<>();
+
+        static {
+                CACHE_TTLS.put("products", Duration.ofMinutes(15));
+                CACHE_TTLS.put("product-slugs", Duration.ofHours(2));
+                CACHE_TTLS.put("product-skus", Duration.ofHours(2));
+                CACHE_TTLS.put("categories", Duration.ofHours(2));
+                CACHE_TTLS.put("featured-products", Duration.ofMinutes(30));
+                CACHE_TTLS.put("users", Duration.ofMinutes(30));
+                CACHE_TTLS.put("reviews", Duration.ofHours(1));
+                CACHE_TTLS.put("settings", Duration.ofHours(24));
+                CACHE_TTLS.put("order-idempotency", Duration.ofHours(24));
+        }
+
+        @Value("${cache.local.maximum-size:10000}")
+        private long localMaximumSize;
+
+        @Value("${cache.local.max-ttl:PT5M}")
+        private Duration localMaxTtl;
+
+        @Value("${cache.invalidation-channel:cache:invalidation}")
+        private String invalidationChannel;
+
+        @Value("${cache.early-refresh-beta:1.0}")
+        private double earlyRefreshBeta;
+
         @Bean
         @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
         public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
@@ -44,12 +83,11 @@ public class RedisConfig {
         }
 
         @Bean
-        @Primary
         @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
-        public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+        public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
                 log.info("Initializing Redis cache manager");
                 RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
-                                .entryTtl(Duration.ofHours(1))
+                                .entryTtl(DEFAULT_TTL)
                                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                                                 .fromSerializer(new StringRedisSerializer()))
                                 .serializeValuesWith(RedisSerializationContext.SerializationPair
@@ -57,12 +95,7 @@ public class RedisConfig {
                                 .disableCachingNullValues();
 
                 Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-                cacheConfigurations.put("products", defaultConfig.entryTtl(Duration.ofMinutes(15)));
-                cacheConfigurations.put("categories", defaultConfig.entryTtl(Duration.ofHours(2)));
-                cacheConfigurations.put("featured-products", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-                cacheConfigurations.put("users", defaultConfig.entryTtl(Duration.ofMinutes(30)));
-                cacheConfigurations.put("reviews", defaultConfig.entryTtl(Duration.ofHours(1)));
-                cacheConfigurations.put("settings", defaultConfig.entryTtl(Duration.ofHours(24)));
+                CACHE_TTLS.forEach((name, ttl) -> cacheConfigurations.put(name, defaultConfig.entryTtl(ttl)));
 
                 return RedisCacheManager.builder(connectionFactory)
                                 .cacheDefaults(defaultConfig)
@@ -70,11 +103,61 @@ public class RedisConfig {
                                 .build();
         }
 
+        @Bean
+        @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
+        public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+                return new CacheInvalidationPublisher(stringRedisTemplate, invalidationChannel);
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "cache.load-lock.enabled", havingValue = "true", matchIfMissing = false)
+        public RedisLoadLock redisLoadLock(StringRedisTemplate stringRedisTemplate,
+                        @Value("${cache.load-lock.lease-time:PT10S}") Duration leaseTime,
+                        @Value("${cache.load-lock.wait-timeout:PT3S}") Duration waitTimeout) {
+                return new RedisLoadLock(stringRedisTemplate, leaseTime, waitTimeout);
+        }
+
+        @Bean
+        @Primary
+        @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
+        public TwoLevelCacheManager twoLevelCacheManager(RedisCacheManager redisCacheManager,
+                        CacheInvalidationPublisher cacheInvalidationPublisher,
+                        ObjectProvider<RedisLoadLock> redisLoadLock) {
+                log.info("Initializing two-level cache manager (local max {} entries, max TTL {})",
+                                localMaximumSize, localMaxTtl);
+                return new TwoLevelCacheManager(redisCacheManager, cacheInvalidationPublisher,
+                                name -> min(ttlFor(name), localMaxTtl), localMaximumSize, earlyRefreshBeta,
+                                redisLoadLock.getIfAvailable(), CACHE_TTLS.keySet());
+        }
+
+        @Bean
+        @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "true", matchIfMissing = false)
+        public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+                        RedisConnectionFactory connectionFactory, TwoLevelCacheManager twoLevelCacheManager) {
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(connectionFactory);
+                container.addMessageListener(twoLevelCacheManager, new ChannelTopic(invalidationChannel));
+                return container;
+        }
+
         @Bean
         @ConditionalOnProperty(name = "spring.data.redis.enabled", havingValue = "false", matchIfMissing = true)
         public CacheManager simpleCacheManager() {
-                log.info("Redis not available, using in-memory cache");
-                return new ConcurrentMapCacheManager("products", "categories", "featured-products", "users", "reviews",
-                                "settings");
+                log.info("Redis not available, using bounded in-memory cache");
+                return new TwoLevelCacheManager(new NoOpCacheManager(), null, RedisConfig::ttlFor, localMaximumSize,
+                                earlyRefreshBeta, null, CACHE_TTLS.keySet());
+        }
+
+        @Bean
+        public TwoLevelCacheMeterBinderProvider twoLevelCacheMeterBinderProvider() {
+                return new TwoLevelCacheMeterBinderProvider();
+        }
+
+        private static Duration ttlFor(String name) {
+                return CACHE_TTLS.getOrDefault(name, DEFAULT_TTL);
+        }
+
+        private static Duration min(Duration a, Duration b) {
+                return a.compareTo(b) <= 0 ? a : b;
         }
 }
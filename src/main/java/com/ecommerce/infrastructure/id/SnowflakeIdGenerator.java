@@ -0,0 +1,84 @@
+package com.ecommerce.infrastructure.id;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 63-bit identifiers: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and
+ * a 12-bit sequence. IDs from one generator are strictly increasing and IDs from generators with
+ * different node ids never collide.
+ * <p>
+ * Time and sequence live in a single AtomicLong advanced by CAS, so there is no lock and no shared
+ * random source. When a millisecond's 4096 sequence values run out, or the wall clock steps back,
+ * the generator keeps counting on a logical clock slightly ahead of wall time instead of waiting.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH_MILLIS = 1704067200000L;
+    public static final int MAX_NODE_ID = 1023;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /** Crockford base32; ASCII-ordered, so fixed-width encodings sort like the numbers. */
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long node;
+    private final Clock clock;
+    private final AtomicLong lastTick = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    /**
+     * Next id; positive and greater than every id previously returned by this generator.
+     */
+    public long nextId() {
+        long now = (clock.millis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long prev;
+        long next;
+        do {
+            prev = lastTick.get();
+            // prev + 1 carries a sequence overflow into the millisecond bits
+            next = Math.max(prev + 1, now);
+        } while (!lastTick.compareAndSet(prev, next));
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * Next id as the prefix followed by 13 Crockford base32 characters, e.g. "ORD-01HQ3K5Z8M2XC".
+     * Strings with the same prefix sort in generation order.
+     */
+    public String nextId(String prefix) {
+        return encode(prefix, nextId());
+    }
+
+    static String encode(String prefix, long id) {
+        int length = prefix.length();
+        char[] chars = new char[length + ENCODED_LENGTH];
+        prefix.getChars(0, length, chars, 0);
+        for (int i = chars.length - 1; i >= length; i--) {
+            chars[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Milliseconds since the Unix epoch at which the id was generated (by its logical clock).
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeOf(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
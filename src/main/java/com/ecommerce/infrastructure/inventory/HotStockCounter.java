@@ -0,0 +1,33 @@
+package com.ecommerce.infrastructure.inventory;
+
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Available-units counter per hot-inventory product. Admission decisions are made here;
+ * the products row catches up through the inventory journal.
+ */
+public interface HotStockCounter {
+
+    /**
+     * Takes the quantity if at least that many units are available. A product without a counter is
+     * seeded first from {@code seed}.
+     *
+     * @return false if fewer units are available; nothing is taken then
+     */
+    boolean tryTake(UUID productId, int quantity, IntSupplier seed);
+
+    /**
+     * Adds units (or removes them, for a negative quantity) if the product has a counter.
+     *
+     * @return false if there was no counter; a later seed will read the change from the database
+     */
+    boolean add(UUID productId, int quantity);
+
+    boolean contains(UUID productId);
+
+    OptionalInt available(UUID productId);
+
+    void remove(UUID productId);
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.infrastructure.inventory;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters shared by all nodes, one Redis key per product. Takes are a Lua check-and-DECRBY, so
+ * a key never drops below zero through a take however many nodes compete.
+ * <p>
+ * Units taken by a node that dies before its order commits stay taken until the counter is removed
+ * and re-seeded; the failure mode is undersell, never oversell.
+ */
+public class RedisHotStockCounter implements HotStockCounter {
+
+    private static final String KEY_PREFIX = "inventory:available:";
+
+    private static final RedisScript<Long> TAKE = new DefaultRedisScript<>(
+            "local v = redis.call('get', KEYS[1]) "
+                    + "if not v then return -1 end "
+                    + "if tonumber(v) >= tonumber(ARGV[1]) then redis.call('decrby', KEYS[1], ARGV[1]) return 1 end "
+                    + "return 0",
+            Long.class);
+
+    private static final RedisScript<Long> ADD = new DefaultRedisScript<>(
+            "if redis.call('exists', KEYS[1]) == 1 then redis.call('incrby', KEYS[1], ARGV[1]) return 1 end "
+                    + "return 0",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisHotStockCounter(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryTake(UUID productId, int quantity, IntSupplier seed) {
+        String key = key(productId);
+        Long result = redisTemplate.execute(TAKE, List.of(key), String.valueOf(quantity));
+        if (result != null && result < 0) {
+            // Another node may seed concurrently; SET NX keeps whichever value landed first
+            redisTemplate.opsForValue().setIfAbsent(key, String.valueOf(seed.getAsInt()));
+            result = redisTemplate.execute(TAKE, List.of(key), String.valueOf(quantity));
+        }
+        return result != null && result == 1;
+    }
+
+    @Override
+    public boolean add(UUID productId, int quantity) {
+        Long result = redisTemplate.execute(ADD, List.of(key(productId)), String.valueOf(quantity));
+        return result != null && result == 1;
+    }
+
+    @Override
+    public boolean contains(UUID productId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key(productId)));
+    }
+
+    @Override
+    public OptionalInt available(UUID productId) {
+        String value = redisTemplate.opsForValue().get(key(productId));
+        return value != null ? OptionalInt.of(Integer.parseInt(value)) : OptionalInt.empty();
+    }
+
+    @Override
+    public void remove(UUID productId) {
+        redisTemplate.delete(key(productId));
+    }
+
+    private static String key(UUID productId) {
+        return KEY_PREFIX + productId;
+    }
+}
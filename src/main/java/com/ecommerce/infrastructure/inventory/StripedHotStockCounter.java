@@ -0,0 +1,164 @@
+package com.ecommerce.infrastructure.inventory;
+
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * In-process counters, each split into stripes so that concurrent buyers of one product mostly CAS
+ * different cache lines. Stripes never go negative; a take that its own stripe cannot cover gathers
+ * units from the others and puts them back if the total falls short. Removals that exceed what the
+ * stripes hold are recorded as a deficit, which later additions pay off first and which blocks takes.
+ * <p>
+ * Only valid when a single node serves checkouts; use {@link RedisHotStockCounter} otherwise.
+ */
+public class StripedHotStockCounter implements HotStockCounter {
+
+    private final int stripes;
+    private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+    public StripedHotStockCounter(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+        }
+        this.stripes = stripes;
+    }
+
+    @Override
+    public boolean tryTake(UUID productId, int quantity, IntSupplier seed) {
+        return counters.computeIfAbsent(productId, id -> new Counter(stripes, seed.getAsInt())).take(quantity);
+    }
+
+    @Override
+    public boolean add(UUID productId, int quantity) {
+        Counter counter = counters.get(productId);
+        if (counter == null) {
+            return false;
+        }
+        if (quantity >= 0) {
+            counter.give(quantity);
+        } else {
+            counter.drain(-quantity);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(UUID productId) {
+        return counters.containsKey(productId);
+    }
+
+    @Override
+    public OptionalInt available(UUID productId) {
+        Counter counter = counters.get(productId);
+        return counter != null ? OptionalInt.of(counter.sum()) : OptionalInt.empty();
+    }
+
+    @Override
+    public void remove(UUID productId) {
+        counters.remove(productId);
+    }
+
+    private static final class Counter {
+
+        private final AtomicInteger[] stripes;
+        private final AtomicInteger deficit = new AtomicInteger();
+
+        Counter(int stripeCount, int initial) {
+            // Spread the initial units so that every stripe can serve takes on its own
+            int units = Math.max(initial, 0);
+            stripes = new AtomicInteger[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new AtomicInteger(units / stripeCount + (i < units % stripeCount ? 1 : 0));
+            }
+            deficit.set(Math.max(-initial, 0));
+        }
+
+        boolean take(int quantity) {
+            if (deficit.get() > 0) {
+                return false;
+            }
+            int home = home();
+            if (takeExactly(stripes[home], quantity)) {
+                return true;
+            }
+            // The home stripe cannot cover it alone; gather from all stripes
+            int taken = 0;
+            for (int i = 0; i < stripes.length && taken < quantity; i++) {
+                taken += takeUpTo(stripes[(home + i) % stripes.length], quantity - taken);
+            }
+            if (taken < quantity) {
+                stripes[home].addAndGet(taken);
+                return false;
+            }
+            return true;
+        }
+
+        void give(int quantity) {
+            int remaining = quantity;
+            while (remaining > 0) {
+                int owed = deficit.get();
+                if (owed == 0) {
+                    break;
+                }
+                int paid = Math.min(owed, remaining);
+                if (deficit.compareAndSet(owed, owed - paid)) {
+                    remaining -= paid;
+                }
+            }
+            if (remaining > 0) {
+                stripes[home()].addAndGet(remaining);
+            }
+        }
+
+        void drain(int quantity) {
+            int taken = 0;
+            for (int i = 0; i < stripes.length && taken < quantity; i++) {
+                taken += takeUpTo(stripes[i], quantity - taken);
+            }
+            if (taken < quantity) {
+                deficit.addAndGet(quantity - taken);
+            }
+        }
+
+        int sum() {
+            int total = -deficit.get();
+            for (AtomicInteger stripe : stripes) {
+                total += stripe.get();
+            }
+            return total;
+        }
+
+        private int home() {
+            return (int) (Thread.currentThread().getId() % stripes.length);
+        }
+
+        private static boolean takeExactly(AtomicInteger stripe, int quantity) {
+            while (true) {
+                int current = stripe.get();
+                if (current < quantity) {
+                    return false;
+                }
+                if (stripe.compareAndSet(current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        private static int takeUpTo(AtomicInteger stripe, int quantity) {
+            while (true) {
+                int current = stripe.get();
+                int taken = Math.min(current, quantity);
+                if (taken <= 0) {
+                    return 0;
+                }
+                if (stripe.compareAndSet(current, current - taken)) {
+                    return taken;
+                }
+            }
+        }
+    }
+}
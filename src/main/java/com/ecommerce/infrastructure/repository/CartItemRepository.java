@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.repository;
+
+import com.ecommerce.domain.cart.CartItem;
+import com.ecommerce.domain.cart.CartTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for single cart lines, so that one line can change without loading the whole cart.
+ */
+@Repository
+public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
+
+    @Query("SELECT i FROM CartItem i JOIN FETCH i.product WHERE i.cart.id = :cartId AND i.product.id = :productId")
+    Optional<CartItem> findByCartIdAndProductId(@Param("cartId") UUID cartId, @Param("productId") UUID productId);
+
+    @Query("SELECT i FROM CartItem i JOIN FETCH i.product JOIN FETCH i.cart c WHERE i.id = :id AND c.user.id = :userId")
+    Optional<CartItem> findByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("SELECT new com.ecommerce.domain.cart.CartTotals("
+            + "COALESCE(SUM(COALESCE(i.unitPrice, p.price) * i.quantity), 0), COALESCE(SUM(i.quantity), 0)) "
+            + "FROM CartItem i JOIN i.product p WHERE i.cart.id = :cartId")
+    CartTotals sumTotals(@Param("cartId") UUID cartId);
+}
@@ -1,11 +1,20 @@
 package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.cart.Cart;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,4 +37,33 @@ public interface CartRepository extends JpaRepository<Cart, UUID> {
     void deleteByUserId(UUID userId);
 
     void deleteBySessionId(String sessionId);
+
+    /**
+     * Oldest carts without items, untouched since the cutoff, locked; carts locked by another
+     * transaction are skipped. The lock also holds back item inserts into the chosen carts.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c.id FROM Cart c WHERE COALESCE(c.updatedAt, c.createdAt) < :before "
+            + "AND NOT EXISTS (SELECT i.id FROM CartItem i WHERE i.cart = c) ORDER BY c.createdAt")
+    List<UUID> findEmptyIdsForUpdate(@Param("before") LocalDateTime before, Pageable limit);
+
+    /**
+     * Oldest anonymous carts whose cart row and items are all untouched since the cutoff, locked;
+     * carts locked by another transaction are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c.id FROM Cart c WHERE c.user IS NULL AND COALESCE(c.updatedAt, c.createdAt) < :before "
+            + "AND NOT EXISTS (SELECT i.id FROM CartItem i WHERE i.cart = c "
+            + "AND COALESCE(i.updatedAt, i.createdAt) >= :before) ORDER BY c.createdAt")
+    List<UUID> findStaleGuestIdsForUpdate(@Param("before") LocalDateTime before, Pageable limit);
+
+    @Modifying
+    @Query("DELETE FROM CartItem i WHERE i.cart.id IN :cartIds")
+    int deleteItemsByCartIdIn(@Param("cartIds") Collection<UUID> cartIds);
+
+    @Modifying
+    @Query("DELETE FROM Cart c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.repository;
+
+import com.ecommerce.domain.product.InventoryJournalEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for InventoryJournalEntry entity operations.
+ */
+@Repository
+public interface InventoryJournalRepository extends JpaRepository<InventoryJournalEntry, UUID> {
+
+    /**
+     * Oldest entries, locked; rows already locked by another node's reconciler are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM InventoryJournalEntry j ORDER BY j.createdAt")
+    List<InventoryJournalEntry> findOldestForUpdate(Pageable limit);
+}
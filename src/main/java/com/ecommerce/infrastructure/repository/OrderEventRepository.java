@@ -0,0 +1,33 @@
+package com.ecommerce.infrastructure.repository;
+
+import com.ecommerce.domain.order.OrderEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for OrderEvent (order outbox) operations.
+ */
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, UUID> {
+
+    /**
+     * Oldest due events, locked; rows already locked by another node's relay are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OrderEvent e WHERE e.availableAt <= :now ORDER BY e.availableAt")
+    List<OrderEvent> findDueForUpdate(@Param("now") LocalDateTime now, Pageable limit);
+
+    List<OrderEvent> findByOrderId(UUID orderId);
+}
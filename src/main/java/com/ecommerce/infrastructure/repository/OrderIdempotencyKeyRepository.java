@@ -0,0 +1,42 @@
+package com.ecommerce.infrastructure.repository;
+
+import com.ecommerce.domain.order.OrderIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for OrderIdempotencyKey entity operations.
+ */
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, UUID> {
+
+    Optional<OrderIdempotencyKey> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Records the created order on a claim; returns 0 if the claim no longer exists.
+     */
+    @Modifying
+    @Query("UPDATE OrderIdempotencyKey k SET k.orderId = :orderId WHERE k.id = :id AND k.orderId IS NULL")
+    int markCompleted(@Param("id") UUID id, @Param("orderId") UUID orderId);
+
+    /**
+     * Removes a claim that has no order yet, e.g. after a failed or abandoned submission.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.id = :id AND k.orderId IS NULL")
+    int deleteUncompleted(@Param("id") UUID id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderIdempotencyKey k WHERE k.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
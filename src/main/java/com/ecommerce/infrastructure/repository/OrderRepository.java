@@ -1,15 +1,24 @@
 package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderEventView;
 import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderStatusView;
+import com.ecommerce.domain.order.ProductQuantity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,10 +31,19 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
     Page<Order> findByUserId(UUID userId, Pageable pageable);
 
     Page<Order> findByStatus(OrderStatus status, Pageable pageable);
 
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdFirstPage(@Param("userId") UUID userId, Pageable limit);
+
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId AND (o.createdAt, o.id) < (:createdAt, :id) ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, Pageable limit);
+
     Page<Order> findByUserIdAndStatus(UUID userId, OrderStatus status, Pageable pageable);
 
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC")
@@ -35,6 +53,47 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     List<Order> findByStatusAndCreatedAtBefore(@Param("status") OrderStatus status,
             @Param("before") LocalDateTime before);
 
+    /**
+     * Oldest orders in the given status created before the cutoff, locked; orders locked by another
+     * transaction are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o.id FROM Order o WHERE o.status = :status AND o.createdAt < :before ORDER BY o.createdAt")
+    List<UUID> findIdsForUpdateByStatusAndCreatedAtBefore(@Param("status") OrderStatus status,
+            @Param("before") LocalDateTime before, Pageable limit);
+
+    @Query("SELECT new com.ecommerce.domain.order.ProductQuantity(i.product.id, SUM(i.quantity)) "
+            + "FROM OrderItem i WHERE i.order.id IN :orderIds GROUP BY i.product.id")
+    List<ProductQuantity> sumQuantitiesByProduct(@Param("orderIds") Collection<UUID> orderIds);
+
+    @Query("SELECT new com.ecommerce.domain.order.OrderStatusView(o.id, o.status) FROM Order o WHERE o.id IN :ids")
+    List<OrderStatusView> findStatusesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT new com.ecommerce.domain.order.OrderEventView(o.id, o.orderNumber, u.email, o.total, o.currency, "
+            + "o.cancellationReason) FROM Order o LEFT JOIN o.user u WHERE o.id IN :ids")
+    List<OrderEventView> findEventViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Moves the given orders to the target status, but only those still in one of the expected statuses.
+     *
+     * @param completedAt set as the completion time when not null
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :target, o.updatedAt = :now, "
+            + "o.completedAt = COALESCE(:completedAt, o.completedAt), o.version = o.version + 1 "
+            + "WHERE o.id IN :ids AND o.status IN :expected")
+    int transitionStatus(@Param("ids") Collection<UUID> ids, @Param("expected") Collection<OrderStatus> expected,
+            @Param("target") OrderStatus target, @Param("now") LocalDateTime now,
+            @Param("completedAt") LocalDateTime completedAt);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = com.ecommerce.domain.order.OrderStatus.CANCELLED, "
+            + "o.cancelledAt = :cancelledAt, o.cancellationReason = :reason, o.updatedAt = :cancelledAt, "
+            + "o.version = o.version + 1 WHERE o.id IN :ids")
+    int markCancelled(@Param("ids") Collection<UUID> ids, @Param("cancelledAt") LocalDateTime cancelledAt,
+            @Param("reason") String reason);
+
     @Query("SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId AND o.status = 'DELIVERED'")
     long countDeliveredOrdersByUser(@Param("userId") UUID userId);
 
@@ -0,0 +1,41 @@
+package com.ecommerce.infrastructure.repository;
+
+import com.ecommerce.domain.product.InventoryDelta;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stock reservation done as conditional SQL updates instead of read-modify-write on the entity,
+ * so that concurrent checkouts of the same product do not fail on the optimistic lock.
+ * <p>
+ * Each update bumps the row version, so entity-based writers that loaded the product earlier
+ * still detect the change. Rows are updated in ascending id order to keep lock order deterministic.
+ */
+public interface ProductInventoryRepository {
+
+    /**
+     * Reserves the given quantities, each only if enough unreserved stock remains.
+     *
+     * @param quantities quantity to reserve per product id
+     * @return ids of the products that could not be reserved; empty if every line succeeded
+     */
+    Set<UUID> reserveStock(Map<UUID, Integer> quantities);
+
+    /**
+     * Returns reserved quantities to available stock.
+     */
+    void releaseStock(Map<UUID, Integer> quantities);
+
+    /**
+     * Turns reserved quantities into sales, reducing stock on hand.
+     */
+    void confirmSale(Map<UUID, Integer> quantities);
+
+    /**
+     * Adds the given changes to stock, reserved and sold quantities without any availability check;
+     * used to apply changes that were already admitted elsewhere.
+     */
+    void applyDeltas(Map<UUID, InventoryDelta> deltas);
+}
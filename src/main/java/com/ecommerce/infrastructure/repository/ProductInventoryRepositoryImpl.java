@@ -0,0 +1,105 @@
+package com.ecommerce.infrastructure.repository;
+
+import com.ecommerce.domain.product.InventoryDelta;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link ProductInventoryRepository}. Runs in the caller's JPA transaction;
+ * all lines of a call go to the database as one batch.
+ */
+class ProductInventoryRepositoryImpl implements ProductInventoryRepository {
+
+    private static final String RESERVE = "UPDATE products SET reserved_quantity = reserved_quantity + ?, "
+            + "version = version + 1 "
+            + "WHERE id = ? AND is_deleted = FALSE AND stock_quantity - reserved_quantity >= ?";
+
+    private static final String RELEASE = "UPDATE products SET reserved_quantity = GREATEST(reserved_quantity - ?, 0), "
+            + "version = version + 1 WHERE id = ?";
+
+    private static final String CONFIRM = "UPDATE products SET stock_quantity = stock_quantity - ?, "
+            + "reserved_quantity = reserved_quantity - ?, total_sales = total_sales + ?, "
+            + "version = version + 1 WHERE id = ?";
+
+    private static final String APPLY = "UPDATE products SET stock_quantity = stock_quantity + ?, "
+            + "reserved_quantity = reserved_quantity + ?, total_sales = total_sales + ?, "
+            + "version = version + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    ProductInventoryRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<UUID> reserveStock(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return Set.of();
+        }
+        List<Map.Entry<UUID, Integer>> lines = inIdOrder(quantities);
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setObject(2, line.getKey());
+            ps.setInt(3, line.getValue());
+        })[0];
+
+        Set<UUID> failed = new LinkedHashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            if (updated[i] == 0) {
+                failed.add(lines.get(i).getKey());
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public void releaseStock(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<UUID, Integer>> lines = inIdOrder(quantities);
+        jdbcTemplate.batchUpdate(RELEASE, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setObject(2, line.getKey());
+        });
+    }
+
+    @Override
+    public void confirmSale(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<UUID, Integer>> lines = inIdOrder(quantities);
+        jdbcTemplate.batchUpdate(CONFIRM, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue());
+            ps.setInt(2, line.getValue());
+            ps.setInt(3, line.getValue());
+            ps.setObject(4, line.getKey());
+        });
+    }
+
+    @Override
+    public void applyDeltas(Map<UUID, InventoryDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<UUID, InventoryDelta>> lines = inIdOrder(deltas);
+        jdbcTemplate.batchUpdate(APPLY, lines, lines.size(), (ps, line) -> {
+            ps.setInt(1, line.getValue().stock());
+            ps.setInt(2, line.getValue().reserved());
+            ps.setInt(3, line.getValue().sales());
+            ps.setObject(4, line.getKey());
+        });
+    }
+
+    private static <V> List<Map.Entry<UUID, V>> inIdOrder(Map<UUID, V> values) {
+        return new ArrayList<>(new TreeMap<>(values).entrySet());
+    }
+}
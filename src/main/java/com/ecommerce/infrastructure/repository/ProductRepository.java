@@ -2,8 +2,10 @@ package com.ecommerce.infrastructure.repository;
 
 import com.ecommerce.domain.product.Product;
 import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.domain.product.ProductSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +13,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,12 +23,52 @@ import java.util.UUID;
  * Repository for Product entity operations.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>,
+        ProductInventoryRepository {
+
+    /**
+     * Select clause for listing queries; the primary image URL comes from a correlated subquery.
+     */
+    String SUMMARY_SELECT = "SELECT new com.ecommerce.domain.product.ProductSummary(p.id, p.name, p.slug, p.price, "
+            + "p.compareAtPrice, (SELECT MIN(i.url) FROM ProductImage i WHERE i.product = p AND i.primary = true), "
+            + "p.averageRating, p.reviewCount, p.stockQuantity, p.reservedQuantity, p.createdAt) FROM Product p ";
 
     Optional<Product> findBySku(String sku);
 
+    List<Product> findBySkuIn(Collection<String> skus);
+
     Optional<Product> findBySlug(String slug);
 
+    /**
+     * Loads a product with its category, seller and images for the detail view. Tags are left to batch
+     * fetching: join-fetching them alongside the images bag would repeat every image once per tag.
+     */
+    @EntityGraph(attributePaths = { "category", "seller", "images" })
+    Optional<Product> findWithDetailsById(UUID id);
+
+    /**
+     * Loads the products of an order together with their images (for the line snapshot) in one query.
+     */
+    @EntityGraph(attributePaths = { "images" })
+    List<Product> findWithImagesByIdIn(Collection<UUID> ids);
+
+    @Query("SELECT p.id FROM Product p WHERE p.slug = :slug")
+    Optional<UUID> findIdBySlug(@Param("slug") String slug);
+
+    @Query("SELECT p.id FROM Product p WHERE p.sku = :sku")
+    Optional<UUID> findIdBySku(@Param("sku") String sku);
+
+    @Query("SELECT p.id FROM Product p WHERE p.hotInventory = true")
+    List<UUID> findHotInventoryIds();
+
+    /**
+     * Units available for new reservations, counting journaled changes that are not yet reconciled.
+     * One statement, so it sees the row and the journal as of the same moment.
+     */
+    @Query("SELECT p.stockQuantity - p.reservedQuantity + COALESCE((SELECT SUM(j.stockDelta - j.reservedDelta) "
+            + "FROM InventoryJournalEntry j WHERE j.productId = p.id), 0) FROM Product p WHERE p.id = :id")
+    Optional<Integer> findJournaledAvailableQuantity(@Param("id") UUID id);
+
     boolean existsBySku(String sku);
 
     boolean existsBySlug(String slug);
@@ -38,17 +82,49 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
     @Query("SELECT p FROM Product p WHERE p.status = :status AND p.deleted = false")
     Page<Product> findActiveProducts(@Param("status") ProductStatus status, Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.status = 'ACTIVE' AND p.deleted = false")
-    Page<Product> findActiveByCategory(@Param("categoryId") UUID categoryId, Pageable pageable);
+    @EntityGraph(attributePaths = { "category", "seller" })
+    @Query("SELECT p FROM Product p WHERE p.status = :status AND p.deleted = false ORDER BY p.id")
+    List<Product> findActiveProductsFirstPage(@Param("status") ProductStatus status, Pageable limit);
 
-    @Query("SELECT p FROM Product p WHERE p.featured = true AND p.status = 'ACTIVE' AND p.deleted = false")
-    List<Product> findFeaturedProducts();
+    @EntityGraph(attributePaths = { "category", "seller" })
+    @Query("SELECT p FROM Product p WHERE p.status = :status AND p.deleted = false AND p.id > :id ORDER BY p.id")
+    List<Product> findActiveProductsAfter(@Param("status") ProductStatus status, @Param("id") UUID id,
+            Pageable limit);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = :status AND p.deleted = false",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.status = :status AND p.deleted = false")
+    Page<ProductSummary> findActiveSummaries(@Param("status") ProductStatus status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.status = :status AND p.deleted = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummary> findActiveSummariesFirstPage(@Param("status") ProductStatus status, Pageable limit);
+
+    @Query(SUMMARY_SELECT + "WHERE p.status = :status AND p.deleted = false AND (p.createdAt, p.id) < (:createdAt, :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<ProductSummary> findActiveSummariesAfter(@Param("status") ProductStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable limit);
+
+    @Query(value = SUMMARY_SELECT + "WHERE p.category.id = :categoryId AND p.status = 'ACTIVE' AND p.deleted = false",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.status = 'ACTIVE' AND p.deleted = false")
+    Page<ProductSummary> findActiveSummariesByCategory(@Param("categoryId") UUID categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.featured = true AND p.status = 'ACTIVE' AND p.deleted = false")
+    List<ProductSummary> findFeaturedSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 
     @Query("SELECT p FROM Product p WHERE p.stockQuantity <= p.lowStockThreshold AND p.deleted = false")
     List<Product> findLowStockProducts();
 
-    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Product> searchProducts(@Param("query") String query, Pageable pageable);
+    @Query("SELECT p.id FROM Product p WHERE p.status = 'ACTIVE' AND p.deleted = false AND (LOWER(p.name) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')))")
+    Page<UUID> searchProductIds(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Full-text search over the weighted search_vector column (see V9 migration). PostgreSQL only.
+     */
+    @Query(value = "SELECT p.id FROM products p, websearch_to_tsquery('english', :query) q WHERE p.search_vector @@ q AND p.status = 'ACTIVE' AND p.is_deleted = false ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id",
+            countQuery = "SELECT COUNT(*) FROM products p WHERE p.search_vector @@ websearch_to_tsquery('english', :query) AND p.status = 'ACTIVE' AND p.is_deleted = false",
+            nativeQuery = true)
+    Page<UUID> searchProductIdsByFullText(@Param("query") String query, Pageable pageable);
 
     @Query("SELECT p FROM Product p WHERE p.status = 'ACTIVE' AND p.deleted = false AND p.price BETWEEN :minPrice AND :maxPrice")
     Page<Product> findByPriceRange(@Param("minPrice") BigDecimal minPrice, @Param("maxPrice") BigDecimal maxPrice,
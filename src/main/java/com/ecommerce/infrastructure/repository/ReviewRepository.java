@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,6 +25,13 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
     Page<Review> findByProductIdAndApproved(UUID productId, boolean approved, Pageable pageable);
 
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.approved = true ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findApprovedByProductIdFirstPage(@Param("productId") UUID productId, Pageable limit);
+
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId AND r.approved = true AND (r.createdAt, r.id) < (:createdAt, :id) ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findApprovedByProductIdAfter(@Param("productId") UUID productId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable limit);
+
     Optional<Review> findByProductIdAndUserId(UUID productId, UUID userId);
 
     boolean existsByProductIdAndUserId(UUID productId, UUID userId);
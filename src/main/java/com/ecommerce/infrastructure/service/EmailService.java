@@ -5,11 +5,14 @@ import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
 /**
  * Service for sending emails.
@@ -56,19 +59,31 @@ public class EmailService {
     @Async
     public void sendHtmlEmail(String to, String subject, String htmlContent) {
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            deliverHtmlEmail(to, subject, htmlContent);
+        } catch (MailException e) {
+            log.error("Failed to send HTML email to {}: {}", to, e.getMessage());
+        }
+    }
+
+    /**
+     * Sends an HTML email on the calling thread and throws if it could not be sent,
+     * for callers that retry until delivery succeeds.
+     */
+    public void deliverHtmlEmail(String to, String subject, String htmlContent) {
+        MimeMessage message = mailSender.createMimeMessage();
+        try {
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
 
             helper.setFrom(fromEmail);
             helper.setTo(to);
             helper.setSubject(subject);
             helper.setText(htmlContent, true);
-
-            mailSender.send(message);
-            log.info("HTML email sent to: {}", to);
         } catch (MessagingException e) {
-            log.error("Failed to send HTML email to {}: {}", to, e.getMessage());
+            throw new MailPreparationException("Could not build email to " + to, e);
         }
+
+        mailSender.send(message);
+        log.info("HTML email sent to: {}", to);
     }
 
     /**
@@ -99,8 +114,18 @@ public class EmailService {
      */
     @Async
     public void sendOrderConfirmationEmail(String to, String orderNumber, String total) {
-        String subject = "Order Confirmation - " + orderNumber;
-        String content = String.format("""
+        sendHtmlEmail(to, "Order Confirmation - " + orderNumber, orderConfirmationContent(orderNumber, total));
+    }
+
+    /**
+     * Sends an order confirmation email on the calling thread, throwing if it could not be sent.
+     */
+    public void deliverOrderConfirmationEmail(String to, String orderNumber, String total) {
+        deliverHtmlEmail(to, "Order Confirmation - " + orderNumber, orderConfirmationContent(orderNumber, total));
+    }
+
+    private String orderConfirmationContent(String orderNumber, String total) {
+        return String.format("""
                 <html>
                 <body style="font-family: Arial, sans-serif; padding: 20px;">
                     <h1 style="color: #333;">Order Confirmed!</h1>
@@ -117,8 +142,30 @@ public class EmailService {
                 </body>
                 </html>
                 """, orderNumber, total, appName);
+    }
 
-        sendHtmlEmail(to, subject, content);
+    /**
+     * Sends an order cancellation email on the calling thread, throwing if it could not be sent.
+     */
+    public void deliverOrderCancellationEmail(String to, String orderNumber, String reason) {
+        String subject = "Order Cancelled - " + orderNumber;
+        String content = String.format("""
+                <html>
+                <body style="font-family: Arial, sans-serif; padding: 20px;">
+                    <h1 style="color: #333;">Order Cancelled</h1>
+                    <p>Your order has been cancelled.</p>
+                    <div style="background: #f5f5f5; padding: 20px; border-radius: 5px; margin: 20px 0;">
+                        <p><strong>Order Number:</strong> %s</p>
+                        <p><strong>Reason:</strong> %s</p>
+                    </div>
+                    <p>Any reserved items have been released. If you were charged, the refund is on its way.</p>
+                    <br>
+                    <p>The %s Team</p>
+                </body>
+                </html>
+                """, orderNumber, reason == null ? "Not specified" : HtmlUtils.htmlEscape(reason), appName);
+
+        deliverHtmlEmail(to, subject, content);
     }
 
     /**
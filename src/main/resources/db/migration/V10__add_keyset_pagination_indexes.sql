@@ -0,0 +1,6 @@
+-- Composite indexes backing keyset pagination: WHERE (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_product_active_created ON products(created_at DESC, id DESC)
+    WHERE status = 'ACTIVE' AND is_deleted = FALSE;
+CREATE INDEX idx_order_user_created ON orders(user_id, created_at DESC, id DESC);
+CREATE INDEX idx_review_product_approved_created ON reviews(product_id, created_at DESC, id DESC)
+    WHERE is_approved = TRUE;
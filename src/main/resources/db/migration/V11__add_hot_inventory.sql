@@ -0,0 +1,19 @@
+-- Opt-in in-memory stock counters for limited-drop products
+ALTER TABLE products ADD COLUMN is_hot_inventory BOOLEAN DEFAULT FALSE;
+
+-- Admitted but not yet reconciled stock changes of hot-inventory products
+CREATE TABLE inventory_journal (
+    id UUID PRIMARY KEY,
+    product_id UUID NOT NULL REFERENCES products(id),
+    stock_delta INTEGER NOT NULL,
+    reserved_delta INTEGER NOT NULL,
+    sales_delta INTEGER NOT NULL,
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    is_deleted BOOLEAN DEFAULT FALSE
+);
+CREATE INDEX idx_inventory_journal_product ON inventory_journal(product_id);
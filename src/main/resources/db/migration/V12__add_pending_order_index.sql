@@ -0,0 +1,2 @@
+-- Backs the reservation expiry sweep: WHERE status = 'PENDING' AND created_at < ? ORDER BY created_at
+CREATE INDEX idx_order_pending_created ON orders(created_at) WHERE status = 'PENDING';
@@ -0,0 +1,17 @@
+-- Idempotency-Key claims of order submissions; order_id is NULL while the submission is in progress
+CREATE TABLE order_idempotency_keys (
+    id UUID PRIMARY KEY,
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id UUID REFERENCES orders(id) ON DELETE CASCADE,
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    is_deleted BOOLEAN DEFAULT FALSE,
+    CONSTRAINT uk_order_idempotency_user_key UNIQUE (user_id, idempotency_key)
+);
+CREATE INDEX idx_order_idempotency_created ON order_idempotency_keys(created_at);
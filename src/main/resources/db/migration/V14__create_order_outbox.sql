@@ -0,0 +1,24 @@
+-- Transactional outbox of order lifecycle events, drained by the outbox relay
+CREATE TABLE order_outbox (
+    id UUID PRIMARY KEY,
+    order_id UUID NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    order_number VARCHAR(50) NOT NULL,
+    customer_email VARCHAR(255),
+    total DECIMAL(12, 2),
+    currency VARCHAR(3),
+    reason VARCHAR(255),
+    attempts INTEGER NOT NULL DEFAULT 0,
+    -- NULL once delivery has been given up on
+    available_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    -- Audit fields
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(50),
+    updated_by VARCHAR(50),
+    version BIGINT DEFAULT 0,
+    is_deleted BOOLEAN DEFAULT FALSE
+);
+
+CREATE INDEX idx_order_outbox_available ON order_outbox(available_at) WHERE available_at IS NOT NULL;
@@ -0,0 +1,2 @@
+-- Handlers that already processed an outbox event, so a retry only runs the ones that failed
+ALTER TABLE order_outbox ADD COLUMN completed_handlers VARCHAR(255);
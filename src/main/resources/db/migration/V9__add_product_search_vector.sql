@@ -0,0 +1,54 @@
+-- Full-text search vector for products
+ALTER TABLE products ADD COLUMN search_vector TSVECTOR;
+
+-- Weighted document: name (A) > tags (B) > short description (C) > description (D).
+-- Tags live in product_tags, which a generated column cannot reference, so the vector is trigger-maintained.
+CREATE OR REPLACE FUNCTION products_search_vector_update() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('english', COALESCE(NEW.name, '')), 'A') ||
+        setweight(to_tsvector('english', COALESCE(
+            (SELECT string_agg(tag, ' ') FROM product_tags WHERE product_id = NEW.id), '')), 'B') ||
+        setweight(to_tsvector('english', COALESCE(NEW.short_description, '')), 'C') ||
+        setweight(to_tsvector('english', COALESCE(NEW.description, '')), 'D');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_products_search_vector_insert
+    BEFORE INSERT ON products
+    FOR EACH ROW EXECUTE FUNCTION products_search_vector_update();
+
+-- Only recompute when searchable text changes (or a refresh is requested by nulling the vector),
+-- so stock and status updates do not pay for re-parsing the description
+CREATE TRIGGER trg_products_search_vector_update
+    BEFORE UPDATE ON products
+    FOR EACH ROW
+    WHEN (OLD.name IS DISTINCT FROM NEW.name
+        OR OLD.short_description IS DISTINCT FROM NEW.short_description
+        OR OLD.description IS DISTINCT FROM NEW.description
+        OR NEW.search_vector IS NULL)
+    EXECUTE FUNCTION products_search_vector_update();
+
+-- Tag changes request a refresh of the owning product's vector
+CREATE OR REPLACE FUNCTION product_tags_search_vector_refresh() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE products SET search_vector = NULL WHERE id = NEW.product_id;
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        UPDATE products SET search_vector = NULL WHERE id = OLD.product_id;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_product_tags_search_vector
+    AFTER INSERT OR UPDATE OR DELETE ON product_tags
+    FOR EACH ROW EXECUTE FUNCTION product_tags_search_vector_refresh();
+
+-- Backfill existing rows through the update trigger
+UPDATE products SET search_vector = NULL;
+
+-- Indexes
+CREATE INDEX idx_product_search_vector ON products USING GIN (search_vector);
@@ -0,0 +1,25 @@
+package com.ecommerce;
+
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base class for service-level integration tests. Test data comes from {@link TestFixtures} and is
+ * deleted after every test, once the subclass's own cleanup has run.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestFixtures.class)
+public abstract class BaseServiceIntegrationTest {
+
+    @Autowired
+    protected TestFixtures fixtures;
+
+    @AfterEach
+    void deleteFixtures() {
+        fixtures.deleteAll();
+    }
+}
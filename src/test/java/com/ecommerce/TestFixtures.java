@@ -0,0 +1,157 @@
+package com.ecommerce;
+
+import com.ecommerce.application.dto.common.AddressDto;
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.product.Category;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.CartRepository;
+import com.ecommerce.infrastructure.repository.CategoryRepository;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import com.ecommerce.infrastructure.repository.UserRepository;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Test data for integration tests. Users, products and categories get a random suffix so that tests
+ * never collide, and everything created here is deleted again by {@link #deleteAll()}, together with
+ * the carts and orders of the users.
+ */
+@TestComponent
+public class TestFixtures {
+
+    private static final AddressDto SHIPPING_ADDRESS =
+            new AddressDto("1 Main St", null, "Springfield", "IL", "62701", "US", null);
+
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final OrderRepository orderRepository;
+    private final CartRepository cartRepository;
+
+    private final List<UUID> users = new ArrayList<>();
+    private final List<UUID> products = new ArrayList<>();
+    private final List<UUID> categories = new ArrayList<>();
+
+    public TestFixtures(UserRepository userRepository, ProductRepository productRepository,
+            CategoryRepository categoryRepository, OrderRepository orderRepository, CartRepository cartRepository) {
+        this.userRepository = userRepository;
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.orderRepository = orderRepository;
+        this.cartRepository = cartRepository;
+    }
+
+    public static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public User user() {
+        String suffix = suffix();
+        User user = new User();
+        user.setUsername("user-" + suffix);
+        user.setEmail("user-" + suffix + "@example.com");
+        user.setPassword("password");
+        user = userRepository.save(user);
+        users.add(user.getId());
+        return user;
+    }
+
+    /**
+     * An active product priced at 5.00.
+     */
+    public Product product(int stock) {
+        return product(stock, "5.00");
+    }
+
+    public Product product(int stock, String price) {
+        return product(stock, price, product -> {
+        });
+    }
+
+    /**
+     * An active product, adjusted by {@code customizer} before it is saved.
+     */
+    public Product product(int stock, String price, Consumer<Product> customizer) {
+        String suffix = suffix();
+        Product product = new Product();
+        product.setName("Test Product " + suffix);
+        product.setSlug("test-product-" + suffix);
+        product.setSku("TEST-" + suffix);
+        product.setPrice(new BigDecimal(price));
+        product.setStockQuantity(stock);
+        product.setStatus(ProductStatus.ACTIVE);
+        customizer.accept(product);
+        product = productRepository.save(product);
+        products.add(product.getId());
+        return product;
+    }
+
+    public Category category() {
+        String suffix = suffix();
+        Category category = new Category();
+        category.setName("Category " + suffix);
+        category.setSlug("category-" + suffix);
+        category = categoryRepository.save(category);
+        categories.add(category.getId());
+        return category;
+    }
+
+    /**
+     * Registers a product created by the code under test, so that it is deleted with the fixtures.
+     */
+    public void trackProduct(UUID productId) {
+        products.add(productId);
+    }
+
+    public static CreateOrderRequest.OrderItemRequest line(UUID productId, int quantity) {
+        return new CreateOrderRequest.OrderItemRequest(productId.toString(), quantity);
+    }
+
+    public static CreateOrderRequest orderRequest(CreateOrderRequest.OrderItemRequest... items) {
+        return orderRequest(List.of(items));
+    }
+
+    public static CreateOrderRequest orderRequest(List<CreateOrderRequest.OrderItemRequest> items) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setItems(items);
+        request.setShippingAddress(SHIPPING_ADDRESS);
+        return request;
+    }
+
+    /**
+     * Deletes the users' carts and orders, then the products, categories and users. Inside a test
+     * transaction its rollback removes them instead, so only the bookkeeping is reset.
+     */
+    public void deleteAll() {
+        try {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                for (UUID userId : users) {
+                    cartRepository.findByUserId(userId).ifPresent(cartRepository::delete);
+                    List<Order> orders;
+                    while (!(orders = orderRepository.findByUserId(userId, PageRequest.of(0, 500)).getContent())
+                            .isEmpty()) {
+                        orderRepository.deleteAll(orders);
+                    }
+                }
+                productRepository.deleteAllById(products);
+                categoryRepository.deleteAllById(categories);
+                userRepository.deleteAllById(users);
+            }
+        } finally {
+            users.clear();
+            products.clear();
+            categories.clear();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.application.dto.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for keyset pagination helpers.
+ */
+class PagedResponseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123456000);
+
+    @Test
+    @DisplayName("Should round-trip a page cursor")
+    void pageCursor_EncodeDecode_RoundTrips() {
+        PageCursor cursor = new PageCursor(NOW, UUID.randomUUID());
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void pageCursor_Decode_RejectsGarbage() {
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid page cursor");
+    }
+
+    @Test
+    @DisplayName("Should emit next cursor from the last row when an extra row was fetched")
+    void ofKeyset_WithExtraRow_SetsNextCursor() {
+        List<PageCursor> rows = List.of(
+                new PageCursor(NOW, UUID.randomUUID()),
+                new PageCursor(NOW.minusMinutes(1), UUID.randomUUID()),
+                new PageCursor(NOW.minusMinutes(2), UUID.randomUUID()));
+
+        PagedResponse<PageCursor> page = PagedResponse.ofKeyset(rows, 2, true, Function.identity(), Function.identity());
+
+        assertThat(page.getContent()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(page.isLast()).isFalse();
+        assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Should mark the final page as last without a cursor")
+    void ofKeyset_WithoutExtraRow_IsLast() {
+        List<PageCursor> rows = List.of(new PageCursor(NOW, UUID.randomUUID()));
+
+        PagedResponse<PageCursor> page = PagedResponse.ofKeyset(rows, 2, false, Function.identity(), Function.identity());
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject page sizes outside 1 to the maximum")
+    void keysetLimit_InvalidSize_Rejected() {
+        assertThatThrownBy(() -> PagedResponse.keysetLimit(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PagedResponse.keysetLimit(PagedResponse.MAX_KEYSET_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(PagedResponse.keysetLimit(20).getPageSize()).isEqualTo(21);
+    }
+}
@@ -0,0 +1,167 @@
+package com.ecommerce.application.inventory;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.application.service.OrderService;
+import com.ecommerce.domain.exception.InsufficientStockException;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.InventoryJournalRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies counter-based reservation of hot-inventory products and journal reconciliation.
+ */
+class HotInventoryTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HotInventory hotInventory;
+
+    @Autowired
+    private InventoryReconciler inventoryReconciler;
+
+    @Autowired
+    private InventoryJournalRepository journalRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journalRepository.deleteAllInBatch();
+        fixtures.deleteAll();
+        hotInventory.refreshHotProducts();
+    }
+
+    @Test
+    @DisplayName("Should admit exactly the available units of a hot product under contention")
+    void createOrder_HotProduct_Concurrent_NeverOversells() throws Exception {
+        UUID id = product(5, true);
+        int buyers = 12;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        int succeeded = 0;
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(user, orderRequest(line(id, 1)));
+                        return true;
+                    } catch (InsufficientStockException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded).isEqualTo(5);
+        assertThat(hotInventory.available(id)).hasValue(0);
+        assertThat(reserved(id)).isZero();
+        assertThat(journalRepository.count()).isEqualTo(5);
+
+        inventoryReconciler.reconcile();
+
+        assertThat(reserved(id)).isEqualTo(5);
+        assertThat(journalRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should return taken units when the order fails on another line")
+    void createOrder_FailingRegularLine_ReturnsHotUnits() {
+        UUID hot = product(5, true);
+        UUID regular = product(1, false);
+
+        assertThatThrownBy(() -> orderService.createOrder(user, orderRequest(line(hot, 2), line(regular, 2))))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(hotInventory.available(hot)).hasValue(5);
+        assertThat(journalRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply confirmations and cancellations to the counter and the products row")
+    void confirmAndCancel_HotProduct() {
+        UUID id = product(10, true);
+        OrderDto confirmed = orderService.createOrder(user, orderRequest(line(id, 3)));
+        OrderDto cancelled = orderService.createOrder(user, orderRequest(line(id, 4)));
+
+        orderService.confirmOrder(UUID.fromString(confirmed.getId()));
+        orderService.cancelOrder(UUID.fromString(cancelled.getId()), "changed mind");
+        inventoryReconciler.reconcile();
+
+        assertThat(hotInventory.available(id)).hasValue(7);
+        Product product = productRepository.findById(id).orElseThrow();
+        assertThat(product.getStockQuantity()).isEqualTo(7);
+        assertThat(product.getReservedQuantity()).isZero();
+        assertThat(product.getTotalSales()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should seed a new counter from the products row plus unreconciled journal entries")
+    void seed_IncludesJournal() {
+        UUID id = product(10, true);
+        orderService.createOrder(user, orderRequest(line(id, 4)));
+
+        // Unflagging drops the counter; flagging again seeds a new one
+        setHot(id, false);
+        setHot(id, true);
+        orderService.createOrder(user, orderRequest(line(id, 1)));
+
+        assertThat(hotInventory.available(id)).hasValue(5);
+    }
+
+    private void setHot(UUID productId, boolean hot) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setHotInventory(hot);
+        productRepository.save(product);
+        hotInventory.refreshHotProducts();
+    }
+
+    private int reserved(UUID productId) {
+        return productRepository.findById(productId).orElseThrow().getReservedQuantity();
+    }
+
+    private UUID product(int stock, boolean hot) {
+        UUID id = fixtures.product(stock, "5.00", product -> product.setHotInventory(hot)).getId();
+        hotInventory.refreshHotProducts();
+        return id;
+    }
+}
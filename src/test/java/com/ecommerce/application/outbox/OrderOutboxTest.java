@@ -0,0 +1,151 @@
+package com.ecommerce.application.outbox;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.application.service.OrderService;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderEvent;
+import com.ecommerce.domain.order.OrderEventType;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.OrderEventRepository;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import com.ecommerce.infrastructure.service.EmailService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies that order changes record outbox events and that the relay delivers and retries them.
+ */
+class OrderOutboxTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private OrderOutbox outbox;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventRepository eventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private EmailService emailService;
+
+    private User user;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+        productId = fixtures.product(10).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should record events with the order change and delete them once delivered")
+    void confirmOrder_RecordsAndDeliversEvents() {
+        UUID orderId = createOrder();
+        orderService.confirmOrder(orderId);
+
+        assertThat(eventRepository.findByOrderId(orderId)).extracting(OrderEvent::getType)
+                .containsExactlyInAnyOrder(OrderEventType.CREATED, OrderEventType.CONFIRMED);
+
+        drain();
+
+        verify(emailService).deliverOrderConfirmationEmail(eq(user.getEmail()), anyString(), eq("5.00 USD"));
+        assertThat(eventRepository.findByOrderId(orderId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep a failed event for a later retry")
+    void dispatchBatch_HandlerFails_SchedulesRetry() {
+        doThrow(new MailSendException("mail server down"))
+                .when(emailService).deliverOrderCancellationEmail(anyString(), anyString(), any());
+        UUID orderId = createOrder();
+        orderService.cancelOrder(orderId, "changed mind");
+
+        drain();
+
+        List<OrderEvent> remaining = eventRepository.findByOrderId(orderId);
+        assertThat(remaining).singleElement().satisfies(event -> {
+            assertThat(event.getType()).isEqualTo(OrderEventType.CANCELLED);
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getLastError()).isEqualTo("mail server down");
+            assertThat(event.getAvailableAt()).isAfter(LocalDateTime.now());
+        });
+    }
+
+    @Test
+    @DisplayName("Should deliver outside a transaction and retry only the handlers that failed")
+    void dispatchBatch_Retry_SkipsCompletedHandlers() {
+        doAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            throw new MailSendException("mail server down");
+        }).doNothing().when(emailService).deliverOrderCancellationEmail(anyString(), anyString(), any());
+        UUID orderId = createOrder();
+        orderService.cancelOrder(orderId, "changed mind");
+        double cancelledBefore = meterRegistry.counter("orders.events", "type", "CANCELLED").count();
+
+        drain();
+        jdbcTemplate.update("UPDATE order_outbox SET available_at = ? WHERE order_id = ?",
+                LocalDateTime.now().minusSeconds(1), orderId);
+        drain();
+
+        verify(emailService, times(2)).deliverOrderCancellationEmail(eq(user.getEmail()), anyString(),
+                eq("changed mind"));
+        assertThat(meterRegistry.counter("orders.events", "type", "CANCELLED").count() - cancelledBefore)
+                .isEqualTo(1);
+        assertThat(eventRepository.findByOrderId(orderId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should refuse to record an event outside the order's transaction")
+    void record_WithoutTransaction_Throws() {
+        Order order = orderRepository.findById(createOrder()).orElseThrow();
+
+        assertThatThrownBy(() -> outbox.record(OrderEventType.CONFIRMED, order, user.getEmail()))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    private void drain() {
+        while (outbox.dispatchBatch(100) == 100) {
+            // keep going until a partial batch
+        }
+    }
+
+    private UUID createOrder() {
+        OrderDto order = orderService.createOrder(user, orderRequest(line(productId, 1)));
+        return UUID.fromString(order.getId());
+    }
+}
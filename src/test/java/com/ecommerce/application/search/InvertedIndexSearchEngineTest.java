@@ -0,0 +1,167 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the in-memory product search index.
+ */
+class InvertedIndexSearchEngineTest {
+
+    private ProductRepository productRepository;
+    private InvertedIndexSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        engine = new InvertedIndexSearchEngine(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should match stemmed terms across name, tags and descriptions")
+    void search_StemmedQuery_MatchesAllFields() {
+        Product shoes = product("Trail Running Shoes", "Lightweight shoe for rough terrain", Set.of("outdoor"));
+        Product jacket = product("Rain Jacket", "Keeps runners dry", Set.of("running"));
+        engine.index(shoes);
+        engine.index(jacket);
+
+        Page<UUID> result = engine.search("runner shoe", PageRequest.of(0, 10));
+
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).containsExactly(shoes.getId(), jacket.getId());
+    }
+
+    @Test
+    @DisplayName("Should rank name matches above description matches")
+    void search_NameMatch_RanksFirst() {
+        Product inDescription = product("Travel Mug", "Pairs well with our espresso beans", Set.of());
+        Product inName = product("Espresso Machine", "Brews coffee at home", Set.of());
+        engine.index(inDescription);
+        engine.index(inName);
+
+        Page<UUID> result = engine.search("espresso", PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).containsExactly(inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    @DisplayName("Should page through ranked results")
+    void search_SecondPage_ReturnsRemainingHits() {
+        for (int i = 0; i < 5; i++) {
+            engine.index(product("Desk Lamp " + i, "LED lamp", Set.of()));
+        }
+
+        Page<UUID> firstPage = engine.search("lamp", PageRequest.of(0, 2));
+        Page<UUID> lastPage = engine.search("lamp", PageRequest.of(2, 2));
+
+        assertThat(firstPage.getContent()).hasSize(2);
+        assertThat(lastPage.getContent()).hasSize(1);
+        assertThat(lastPage.getTotalElements()).isEqualTo(5);
+        assertThat(lastPage.getContent()).doesNotContainAnyElementsOf(firstPage.getContent());
+    }
+
+    @Test
+    @DisplayName("Should drop products that are no longer active")
+    void index_InactiveProduct_RemovesFromIndex() {
+        Product product = product("Wireless Mouse", "Ergonomic mouse", Set.of());
+        engine.index(product);
+
+        product.setStatus(ProductStatus.ARCHIVED);
+        engine.index(product);
+
+        assertThat(engine.search("mouse", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(engine.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should replace old terms when a product is re-indexed")
+    void index_UpdatedProduct_ReplacesTerms() {
+        Product product = product("Blue Kettle", "Stainless steel", Set.of());
+        engine.index(product);
+
+        product.setName("Red Kettle");
+        engine.index(product);
+
+        assertThat(engine.search("blue", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(engine.search("red", PageRequest.of(0, 10)).getContent()).containsExactly(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for stop-word-only queries")
+    void search_StopWordsOnly_ReturnsEmpty() {
+        engine.index(product("The Book", "A novel", Set.of()));
+
+        assertThat(engine.search("the and of", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page through products by id when rebuilding")
+    void rebuild_MoreThanOneBatch_LoadsEveryProduct() {
+        List<Product> firstBatch = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstBatch.add(product("Desk Lamp " + i, "LED lamp", Set.of()));
+        }
+        Product last = product("Floor Lamp", "Tall lamp", Set.of());
+        UUID lastOfFirstBatch = firstBatch.get(499).getId();
+        when(productRepository.findActiveProductsFirstPage(eq(ProductStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(firstBatch);
+        when(productRepository.findActiveProductsAfter(eq(ProductStatus.ACTIVE), eq(lastOfFirstBatch),
+                any(Pageable.class))).thenReturn(List.of(last));
+
+        engine.rebuild();
+
+        assertThat(engine.size()).isEqualTo(501);
+        assertThat(engine.search("floor", PageRequest.of(0, 10)).getContent()).containsExactly(last.getId());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the old index and keep writes that land while a rebuild is loading")
+    void rebuild_ConcurrentWrites_Replayed() {
+        Product kettle = product("Blue Kettle", "Stainless steel", Set.of());
+        Product toaster = product("Toaster", "Two slots", Set.of());
+        Product mug = product("Travel Mug", "Keeps coffee hot", Set.of());
+        engine.index(kettle);
+        when(productRepository.findActiveProductsFirstPage(eq(ProductStatus.ACTIVE), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    assertThat(engine.search("kettle", PageRequest.of(0, 10)).getContent())
+                            .containsExactly(kettle.getId());
+                    engine.index(mug);
+                    engine.remove(toaster.getId());
+                    return List.of(kettle, toaster);
+                });
+
+        engine.rebuild();
+
+        assertThat(engine.size()).isEqualTo(2);
+        assertThat(engine.search("toaster", PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(engine.search("mug", PageRequest.of(0, 10)).getContent()).containsExactly(mug.getId());
+    }
+
+    private Product product(String name, String description, Set<String> tags) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setDescription(description);
+        product.setTags(tags);
+        product.setStatus(ProductStatus.ACTIVE);
+        return product;
+    }
+}
@@ -0,0 +1,177 @@
+package com.ecommerce.application.search;
+
+import com.ecommerce.application.search.FacetedSearchResult.FacetCount;
+import com.ecommerce.domain.product.Category;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.product.ProductStatus;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.CategoryRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the bitmap facet index.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductFacetIndexTest {
+
+    private static final ProductFacetFilter NO_FILTER = new ProductFacetFilter(null, null, null, null, null, null);
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private ProductFacetIndex index;
+
+    private Category electronics;
+    private Category laptops;
+    private User seller;
+
+    private Product cheapCable;
+    private Product laptop;
+    private Product soldOutLaptop;
+
+    @BeforeEach
+    void setUp() {
+        electronics = category("Electronics", null);
+        laptops = category("Laptops", electronics);
+        seller = new User();
+        seller.setId(UUID.randomUUID());
+
+        cheapCable = product("USB Cable", "9.99", "4.50", 100, electronics, Set.of("usb"));
+        laptop = product("Ultrabook", "1299.00", "4.10", 5, laptops, Set.of("portable", "usb"));
+        soldOutLaptop = product("Gaming Laptop", "1899.00", "3.20", 0, laptops, Set.of("portable"));
+
+        when(categoryRepository.findAllActive()).thenReturn(List.of(electronics, laptops));
+        when(productRepository.findActiveProductsFirstPage(eq(ProductStatus.ACTIVE), any(Pageable.class)))
+                .thenReturn(List.of(cheapCable, laptop, soldOutLaptop));
+
+        index = new ProductFacetIndex(productRepository, categoryRepository);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should include the whole category subtree")
+    void search_ParentCategory_IncludesSubcategories() {
+        ProductFacetFilter filter = new ProductFacetFilter(electronics.getId(), null, null, null, null, null);
+
+        FacetedSearchResult result = index.search(filter, PageRequest.of(0, 10));
+
+        assertThat(result.productIds().getContent())
+                .containsExactlyInAnyOrder(cheapCable.getId(), laptop.getId(), soldOutLaptop.getId());
+        assertThat(result.facets().get(ProductFacetIndex.CATEGORY_FACET))
+                .containsExactly(new FacetCount(laptops.getId().toString(), "Laptops", 2));
+    }
+
+    @Test
+    @DisplayName("Should intersect filters across facets")
+    void search_CombinedFilters_IntersectsFacets() {
+        ProductFacetFilter filter = new ProductFacetFilter(null, Set.of("500+"), 4, true, Set.of("portable"), null);
+
+        FacetedSearchResult result = index.search(filter, PageRequest.of(0, 10));
+
+        assertThat(result.productIds().getContent()).containsExactly(laptop.getId());
+    }
+
+    @Test
+    @DisplayName("Should count facet values against the other active filters")
+    void search_SelectedFacet_KeepsSiblingCounts() {
+        ProductFacetFilter filter = new ProductFacetFilter(null, Set.of("0-25"), null, null, null, null);
+
+        FacetedSearchResult result = index.search(filter, PageRequest.of(0, 10));
+
+        assertThat(result.productIds().getContent()).containsExactly(cheapCable.getId());
+        assertThat(result.facets().get(ProductFacetIndex.PRICE_FACET))
+                .contains(new FacetCount("0-25", null, 1), new FacetCount("500+", null, 2));
+        assertThat(result.facets().get(ProductFacetIndex.STOCK_FACET))
+                .containsExactly(new FacetCount("true", null, 1));
+    }
+
+    @Test
+    @DisplayName("Should sort and page the matching products")
+    void search_SortedByPrice_PagesInOrder() {
+        FacetedSearchResult result = index.search(NO_FILTER, PageRequest.of(0, 2, Sort.by("price").descending()));
+
+        assertThat(result.productIds().getTotalElements()).isEqualTo(3);
+        assertThat(result.productIds().getContent()).containsExactly(soldOutLaptop.getId(), laptop.getId());
+    }
+
+    @Test
+    @DisplayName("Should move a product between buckets when it is re-indexed")
+    void index_UpdatedProduct_MovesBuckets() {
+        laptop.setStockQuantity(0);
+        index.index(laptop);
+
+        ProductFacetFilter inStockOnly = new ProductFacetFilter(null, null, null, true, null, null);
+        assertThat(index.search(inStockOnly, PageRequest.of(0, 10)).productIds().getContent())
+                .containsExactly(cheapCable.getId());
+
+        laptop.setStatus(ProductStatus.ARCHIVED);
+        index.index(laptop);
+        assertThat(index.search(NO_FILTER, PageRequest.of(0, 10)).productIds().getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep writes that land while a rebuild is loading")
+    void rebuild_ConcurrentWrites_Replayed() {
+        Product newCable = product("HDMI Cable", "14.99", "4.00", 20, electronics, Set.of());
+        when(productRepository.findActiveProductsFirstPage(eq(ProductStatus.ACTIVE), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    index.index(newCable);
+                    index.remove(cheapCable.getId());
+                    laptop.setStatus(ProductStatus.ARCHIVED);
+                    index.index(laptop);
+                    return List.of(cheapCable, laptop, soldOutLaptop);
+                });
+
+        index.rebuild();
+
+        assertThat(index.search(NO_FILTER, PageRequest.of(0, 10)).productIds().getContent())
+                .containsExactlyInAnyOrder(soldOutLaptop.getId(), newCable.getId());
+    }
+
+    private Category category(String name, Category parent) {
+        Category category = new Category();
+        category.setId(UUID.randomUUID());
+        category.setName(name);
+        category.setParent(parent);
+        return category;
+    }
+
+    private Product product(String name, String price, String rating, int stock, Category category,
+            Set<String> tags) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setPrice(new BigDecimal(price));
+        product.setAverageRating(new BigDecimal(rating));
+        product.setStockQuantity(stock);
+        product.setCategory(category);
+        product.setSeller(seller);
+        product.setTags(tags);
+        product.setStatus(ProductStatus.ACTIVE);
+        product.setCreatedAt(LocalDateTime.now());
+        return product;
+    }
+}
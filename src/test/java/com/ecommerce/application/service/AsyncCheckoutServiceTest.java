@@ -0,0 +1,146 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.CheckoutStatusDto;
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.domain.exception.CapacityExceededException;
+import com.ecommerce.domain.exception.EntityNotFoundException;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies queued checkout: batching, per-order failure isolation, backpressure and ticket ownership.
+ */
+class AsyncCheckoutServiceTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private AsyncCheckoutService asyncCheckoutService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @Test
+    @DisplayName("Should create every queued order")
+    void submit_CreatesOrders() throws InterruptedException {
+        UUID id = product(100);
+        List<CheckoutStatusDto> tickets = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            tickets.add(asyncCheckoutService.submit(user, request(id, 2)));
+        }
+
+        for (CheckoutStatusDto ticket : tickets) {
+            CheckoutStatusDto status = awaitDone(ticket);
+            assertThat(status.getStatus()).isEqualTo("COMPLETED");
+            assertThat(status.getOrderNumber()).startsWith("ORD-");
+        }
+        assertThat(productRepository.findById(id).orElseThrow().getReservedQuantity()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Should fail only the orders that cannot be fulfilled")
+    void submit_ShortStock_FailsOnlyExcessOrders() throws InterruptedException {
+        UUID id = product(3);
+        List<CheckoutStatusDto> tickets = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tickets.add(asyncCheckoutService.submit(user, request(id, 1)));
+        }
+
+        List<String> statuses = new ArrayList<>();
+        for (CheckoutStatusDto ticket : tickets) {
+            CheckoutStatusDto status = awaitDone(ticket);
+            statuses.add(status.getStatus());
+            if (status.getStatus().equals("FAILED")) {
+                assertThat(status.getError()).contains("Insufficient stock");
+            }
+        }
+        assertThat(statuses).filteredOn("COMPLETED"::equals).hasSize(3);
+        assertThat(productRepository.findById(id).orElseThrow().getReservedQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should hide other users' tickets")
+    void getStatus_OtherUser_NotFound() throws InterruptedException {
+        CheckoutStatusDto ticket = asyncCheckoutService.submit(user, request(product(5), 1));
+        User other = fixtures.user();
+        try {
+            assertThatThrownBy(() -> asyncCheckoutService.getStatus(other, UUID.fromString(ticket.getTicketId())))
+                    .isInstanceOf(EntityNotFoundException.class);
+        } finally {
+            // let the worker finish before the fixtures delete the product it is ordering
+            awaitDone(ticket);
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse checkouts when the queue is full")
+    void submit_QueueFull_Refused() throws Exception {
+        OrderService orderService = mock(OrderService.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return new OrderDto();
+        });
+        AsyncCheckoutService service = new AsyncCheckoutService(orderService,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 1, 1, 1, Duration.ofMinutes(1));
+        try {
+            service.submit(user, request(UUID.randomUUID(), 1));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            service.submit(user, request(UUID.randomUUID(), 1));
+
+            assertThatThrownBy(() -> service.submit(user, request(UUID.randomUUID(), 1)))
+                    .isInstanceOf(CapacityExceededException.class);
+        } finally {
+            release.countDown();
+            service.shutdown();
+        }
+    }
+
+    private CheckoutStatusDto awaitDone(CheckoutStatusDto ticket) throws InterruptedException {
+        UUID ticketId = UUID.fromString(ticket.getTicketId());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        CheckoutStatusDto status = asyncCheckoutService.getStatus(user, ticketId);
+        while (!status.getStatus().equals("COMPLETED") && !status.getStatus().equals("FAILED")
+                && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            status = asyncCheckoutService.getStatus(user, ticketId);
+        }
+        return status;
+    }
+
+    private UUID product(int stock) {
+        return fixtures.product(stock).getId();
+    }
+
+    private static CreateOrderRequest request(UUID productId, int quantity) {
+        return orderRequest(line(productId, quantity));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.cart.BulkAddToCartRequest;
+import com.ecommerce.application.dto.cart.CartLinesResponse;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.domain.exception.EntityNotFoundException;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies bulk add-to-cart and reorder, including their partial-success results.
+ */
+@Transactional
+class CartServiceBulkAddTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @Test
+    @DisplayName("Should add lines by id and SKU and report the ones that cannot be added")
+    void addToCartBulk_PartialSuccess() {
+        Product byId = fixtures.product(10);
+        Product bySku = fixtures.product(10);
+        Product scarce = fixtures.product(1);
+
+        CartLinesResponse response = cartService.addToCartBulk(user, new BulkAddToCartRequest(List.of(
+                new BulkAddToCartRequest.Line(byId.getId().toString(), null, 2),
+                new BulkAddToCartRequest.Line(null, bySku.getSku(), 3),
+                new BulkAddToCartRequest.Line(byId.getId().toString(), null, 1),
+                new BulkAddToCartRequest.Line(null, scarce.getSku(), 2),
+                new BulkAddToCartRequest.Line(null, "NO-SUCH-SKU", 1),
+                new BulkAddToCartRequest.Line("not-a-uuid", null, 1))));
+
+        assertThat(response.getAdded()).isEqualTo(2);
+        assertThat(response.getCart().getItemCount()).isEqualTo(6);
+        assertThat(response.getResults())
+                .extracting(CartLinesResponse.Result::sku, CartLinesResponse.Result::outcome)
+                .containsExactly(
+                        tuple("NO-SUCH-SKU", CartLinesResponse.Outcome.NOT_FOUND),
+                        tuple(null, CartLinesResponse.Outcome.NOT_FOUND),
+                        tuple(byId.getSku(), CartLinesResponse.Outcome.ADDED),
+                        tuple(bySku.getSku(), CartLinesResponse.Outcome.ADDED),
+                        tuple(scarce.getSku(), CartLinesResponse.Outcome.INSUFFICIENT_STOCK));
+    }
+
+    @Test
+    @DisplayName("Should not create a cart when no line can be resolved")
+    void addToCartBulk_NothingResolved_NoCart() {
+        CartLinesResponse response = cartService.addToCartBulk(user, new BulkAddToCartRequest(List.of(
+                new BulkAddToCartRequest.Line(null, "NO-SUCH-SKU", 1))));
+
+        assertThat(response.getAdded()).isZero();
+        assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should add the products of a previous order in the ordered quantities")
+    void reorder_AddsOrderedQuantities() {
+        Product first = fixtures.product(10);
+        Product second = fixtures.product(10);
+        OrderDto order = orderService.createOrder(user, orderRequest(line(first.getId(), 2), line(second.getId(), 1)));
+
+        CartLinesResponse response = cartService.reorder(user, UUID.fromString(order.getId()));
+
+        assertThat(response.getAdded()).isEqualTo(2);
+        assertThat(response.getCart().getItems())
+                .extracting(item -> item.getProductSku(), item -> item.getQuantity())
+                .containsExactlyInAnyOrder(tuple(first.getSku(), 2), tuple(second.getSku(), 1));
+    }
+
+    @Test
+    @DisplayName("Should not reorder another user's order")
+    void reorder_OtherUsersOrder_NotFound() {
+        Product product = fixtures.product(10);
+        OrderDto order = orderService.createOrder(user,
+                orderRequest(line(product.getId(), 1), line(product.getId(), 1)));
+        User other = fixtures.user();
+
+        assertThatThrownBy(() -> cartService.reorder(other, UUID.fromString(order.getId())))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.domain.cart.Cart;
+import com.ecommerce.domain.cart.CartItem;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.CartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies lazy cart creation and the purging of empty and stale carts.
+ */
+@Transactional
+class CartServiceCleanupTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+        product = fixtures.product(10);
+    }
+
+    @Test
+    @DisplayName("Should return an empty cart without creating one for a user who has none")
+    void getCart_NoCart_NotPersisted() {
+        assertThat(cartService.getCart(user).getItems()).isEmpty();
+        cartService.clearCart(user);
+
+        assertThat(cartRepository.findByUserId(user.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should purge only anonymous carts idle past the cutoff, with their items")
+    void purgeStaleGuestCarts_DeletesIdleGuestCarts() {
+        UUID stale = cart(null, 2, 40);
+        UUID recent = cart(null, 1, 0);
+        UUID owned = cart(user, 1, 40);
+
+        CartService.PurgedCarts purged = cartService.purgeStaleGuestCarts(LocalDateTime.now().minusDays(30), 100);
+
+        assertThat(purged.carts()).isGreaterThanOrEqualTo(1);
+        assertThat(purged.items()).isGreaterThanOrEqualTo(2);
+        assertThat(cartRepository.existsById(stale)).isFalse();
+        assertThat(cartRepository.existsById(recent)).isTrue();
+        assertThat(cartRepository.existsById(owned)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should purge empty carts idle past the cutoff in bounded chunks")
+    void purgeEmptyCarts_DeletesInChunks() {
+        UUID first = cart(null, 0, 2);
+        UUID second = cart(user, 0, 2);
+        UUID filled = cart(null, 1, 2);
+        UUID fresh = cart(null, 0, 0);
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+
+        assertThat(cartService.purgeEmptyCarts(cutoff, 1).carts()).isEqualTo(1);
+        while (cartService.purgeEmptyCarts(cutoff, 1).carts() == 1) {
+            // drain
+        }
+
+        assertThat(cartRepository.existsById(first)).isFalse();
+        assertThat(cartRepository.existsById(second)).isFalse();
+        assertThat(cartRepository.existsById(filled)).isTrue();
+        assertThat(cartRepository.existsById(fresh)).isTrue();
+    }
+
+    private UUID cart(User owner, int items, int idleDays) {
+        Cart cart = new Cart();
+        cart.setUser(owner);
+        cart.setSessionId(owner == null ? "session-" + UUID.randomUUID() : null);
+        for (int i = 0; i < items; i++) {
+            CartItem item = new CartItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            item.setUnitPrice(product.getPrice());
+            cart.getItems().add(item);
+            item.setCart(cart);
+        }
+        UUID id = cartRepository.saveAndFlush(cart).getId();
+        Timestamp touched = Timestamp.valueOf(LocalDateTime.now().minusDays(idleDays));
+        jdbcTemplate.update("UPDATE carts SET created_at = ?, updated_at = ? WHERE id = ?", touched, touched, id);
+        jdbcTemplate.update("UPDATE cart_items SET created_at = ?, updated_at = ? WHERE cart_id = ?",
+                touched, touched, id);
+        return id;
+    }
+}
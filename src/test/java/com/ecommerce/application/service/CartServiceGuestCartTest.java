@@ -0,0 +1,100 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.cart.AddToCartRequest;
+import com.ecommerce.application.dto.cart.CartDto;
+import com.ecommerce.domain.exception.InsufficientStockException;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.cart.GuestCartStore;
+import com.ecommerce.infrastructure.repository.CartRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that anonymous carts stay out of the database until they are merged.
+ */
+class CartServiceGuestCartTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private GuestCartStore guestCartStore;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String sessionId;
+
+    @BeforeEach
+    void setUp() {
+        sessionId = "session-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        guestCartStore.remove(sessionId);
+    }
+
+    @Test
+    @DisplayName("Should view and fill a guest cart without writing to the database")
+    void guestCart_NoDatabaseWrites() {
+        UUID first = product(10, "4.00");
+        UUID second = product(10, "2.50");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(cartService.getCartBySession(sessionId).getItems()).isEmpty();
+        cartService.addToCartBySession(sessionId, new AddToCartRequest(first.toString(), 2));
+        cartService.addToCartBySession(sessionId, new AddToCartRequest(second.toString(), 1));
+        CartDto cart = cartService.addToCartBySession(sessionId, new AddToCartRequest(first.toString(), 1));
+
+        assertThat(cart.getItemCount()).isEqualTo(4);
+        assertThat(cart.getSubtotal()).isEqualByComparingTo("14.50");
+        assertThat(statistics.getEntityInsertCount() + statistics.getEntityUpdateCount()).isZero();
+        assertThat(cartRepository.findBySessionId(sessionId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject guest quantities beyond the available stock")
+    void addToCartBySession_InsufficientStock_Rejected() {
+        UUID id = product(3, "1.00");
+        cartService.addToCartBySession(sessionId, new AddToCartRequest(id.toString(), 2));
+
+        assertThatThrownBy(() -> cartService.addToCartBySession(sessionId, new AddToCartRequest(id.toString(), 2)))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(guestCartStore.lines(sessionId)).containsEntry(id, 2);
+    }
+
+    @Test
+    @DisplayName("Should materialize the guest cart in the user's cart on merge")
+    void mergeCart_MovesGuestLines() {
+        UUID id = product(10, "3.00");
+        cartService.addToCartBySession(sessionId, new AddToCartRequest(id.toString(), 3));
+        User user = fixtures.user();
+
+        CartDto merged = cartService.mergeCart(user, sessionId).getCart();
+
+        assertThat(merged.getId()).isNotNull();
+        assertThat(merged.getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(3));
+        assertThat(guestCartStore.lines(sessionId)).isEmpty();
+    }
+
+    private UUID product(int stock, String price) {
+        return fixtures.product(stock, price).getId();
+    }
+}
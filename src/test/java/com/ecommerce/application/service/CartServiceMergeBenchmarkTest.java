@@ -0,0 +1,121 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.cart.AddToCartRequest;
+import com.ecommerce.application.dto.cart.CartLinesResponse;
+import com.ecommerce.domain.product.ProductImage;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.cart.GuestCartStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Merges a 200-line guest cart on login and compares it with adding the same lines one request at a time.
+ */
+class CartServiceMergeBenchmarkTest extends BaseServiceIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CartServiceMergeBenchmarkTest.class);
+
+    private static final int LINES = 200;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private GuestCartStore guestCartStore;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<UUID> products = new ArrayList<>();
+    private String sessionId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < LINES; i++) {
+            String url = "https://example.com/merge-" + i + ".jpg";
+            // the last ten lines ask for more than is in stock
+            int stock = i < LINES - 10 ? 100 : 1;
+            products.add(fixtures.product(stock, "3.00", product -> {
+                ProductImage image = new ProductImage();
+                image.setUrl(url);
+                image.setPrimary(true);
+                product.addImage(image);
+            }).getId());
+        }
+        sessionId = "session-" + UUID.randomUUID();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        guestCartStore.remove(sessionId);
+    }
+
+    @Test
+    @DisplayName("Should merge a 200-line guest cart with a bounded number of statements")
+    void mergeCart_200Lines_BoundedStatements() {
+        User merging = fixtures.user();
+        User sequential = fixtures.user();
+        products.forEach(id -> guestCartStore.add(sessionId, id, 2));
+
+        statistics.clear();
+        long start = System.nanoTime();
+        CartLinesResponse merged = cartService.mergeCart(merging, sessionId);
+        long mergeMillis = (System.nanoTime() - start) / 1_000_000;
+        long mergeStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        for (UUID id : products.subList(0, LINES - 10)) {
+            cartService.addToCart(sequential, new AddToCartRequest(id.toString(), 2));
+        }
+        long sequentialMillis = (System.nanoTime() - start) / 1_000_000;
+        long sequentialStatements = statistics.getPrepareStatementCount();
+
+        log.info("merge of {} lines: {} ms, {} statements; one add per line: {} ms, {} statements",
+                LINES, mergeMillis, mergeStatements, sequentialMillis, sequentialStatements);
+        assertThat(merged.getAdded()).isEqualTo(LINES - 10);
+        assertThat(merged.getCart().getItems()).hasSize(LINES - 10);
+        assertThat(merged.getResults())
+                .filteredOn(result -> result.outcome() == CartLinesResponse.Outcome.INSUFFICIENT_STOCK)
+                .hasSize(10)
+                .allSatisfy(result -> assertThat(result.availableQuantity()).isEqualTo(1));
+        assertThat(guestCartStore.lines(sessionId)).isEmpty();
+        // cart lookups, one product load, batched image loads and batched item inserts
+        assertThat(mergeStatements).isLessThan(20);
+        assertThat(mergeStatements * 10).isLessThan(sequentialStatements);
+    }
+
+    @Test
+    @DisplayName("Should add guest quantities to lines already in the user's cart")
+    void mergeCart_ExistingLine_AddsQuantity() {
+        User user = fixtures.user();
+        UUID id = products.get(0);
+        cartService.addToCart(user, new AddToCartRequest(id.toString(), 3));
+        guestCartStore.add(sessionId, id, 4);
+        guestCartStore.add(sessionId, UUID.randomUUID(), 1);
+
+        CartLinesResponse merged = cartService.mergeCart(user, sessionId);
+
+        assertThat(merged.getCart().getItems()).singleElement()
+                .satisfies(item -> assertThat(item.getQuantity()).isEqualTo(7));
+        assertThat(merged.getResults()).extracting(CartLinesResponse.Result::outcome)
+                .containsExactly(CartLinesResponse.Outcome.ADDED, CartLinesResponse.Outcome.NOT_FOUND);
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.cart.AddToCartRequest;
+import com.ecommerce.application.dto.cart.CartMutationDto;
+import com.ecommerce.domain.exception.EntityNotFoundException;
+import com.ecommerce.domain.exception.InsufficientStockException;
+import com.ecommerce.domain.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies the single-line cart mutations behind {@code Prefer: return=minimal}.
+ */
+class CartServiceMutationTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @Test
+    @DisplayName("Should return the changed line and cart totals when adding")
+    void addToCartLine_ReturnsLineAndTotals() {
+        UUID first = product(10, "2.00");
+        UUID second = product(10, "5.00");
+        cartService.addToCartLine(user, new AddToCartRequest(first.toString(), 1));
+        cartService.addToCartLine(user, new AddToCartRequest(second.toString(), 2));
+
+        CartMutationDto mutation = cartService.addToCartLine(user, new AddToCartRequest(first.toString(), 2));
+
+        assertThat(mutation.getItem().getProductId()).isEqualTo(first.toString());
+        assertThat(mutation.getItem().getQuantity()).isEqualTo(3);
+        assertThat(mutation.getSubtotal()).isEqualByComparingTo("16.00");
+        assertThat(mutation.getItemCount()).isEqualTo(5);
+        assertThat(cartService.getCart(user).getItems()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should check stock against the line's combined quantity")
+    void addToCartLine_InsufficientStock_Rejected() {
+        UUID id = product(3, "1.00");
+        cartService.addToCartLine(user, new AddToCartRequest(id.toString(), 2));
+
+        assertThatThrownBy(() -> cartService.addToCartLine(user, new AddToCartRequest(id.toString(), 2)))
+                .isInstanceOf(InsufficientStockException.class);
+    }
+
+    @Test
+    @DisplayName("Should update and remove one line without loading the others")
+    void updateAndRemoveLine_TouchOnlyThatLine() {
+        for (int i = 0; i < 30; i++) {
+            cartService.addToCartLine(user, new AddToCartRequest(product(10, "1.00").toString(), 1));
+        }
+        String itemId = cartService.addToCartLine(user,
+                new AddToCartRequest(product(10, "4.00").toString(), 1)).getItem().getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CartMutationDto updated = cartService.updateCartItemLine(user, itemId, 3);
+
+        assertThat(updated.getItem().getQuantity()).isEqualTo(3);
+        assertThat(updated.getSubtotal()).isEqualByComparingTo("42.00");
+        assertThat(statistics.getEntityLoadCount()).isLessThan(5);
+
+        CartMutationDto removed = cartService.removeFromCartLine(user, itemId);
+
+        assertThat(removed.getItem()).isNull();
+        assertThat(removed.getRemovedItemId()).isEqualTo(itemId);
+        assertThat(removed.getItemCount()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("Should not find another user's line or a malformed id")
+    void updateCartItemLine_UnknownItem_NotFound() {
+        assertThatThrownBy(() -> cartService.updateCartItemLine(user, UUID.randomUUID().toString(), 1))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThatThrownBy(() -> cartService.removeFromCartLine(user, "not-a-uuid"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private UUID product(int stock, String price) {
+        return fixtures.product(stock, price).getId();
+    }
+}
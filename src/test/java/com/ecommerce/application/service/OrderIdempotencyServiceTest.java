@@ -0,0 +1,115 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.domain.exception.InsufficientStockException;
+import com.ecommerce.domain.order.OrderIdempotencyKey;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.OrderIdempotencyKeyRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies Idempotency-Key handling of order submission.
+ */
+class OrderIdempotencyServiceTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private OrderIdempotencyService orderIdempotencyService;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @AfterEach
+    void tearDown() {
+        keyRepository.deleteAll(keyRepository.findAll().stream()
+                .filter(key -> key.getUserId().equals(user.getId()))
+                .toList());
+    }
+
+    @Test
+    @DisplayName("Should replay the original order and reserve stock once for a retried key")
+    void createOrder_SameKey_ReplaysOriginal() {
+        UUID id = product(10);
+        String key = UUID.randomUUID().toString();
+
+        OrderIdempotencyService.Result first = orderIdempotencyService.createOrder(user, request(id, 2), key);
+        OrderIdempotencyService.Result retry = orderIdempotencyService.createOrder(user, request(id, 2), key);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.order().getId()).isEqualTo(first.order().getId());
+        assertThat(productRepository.findById(id).orElseThrow().getReservedQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject reuse of a key for a different request")
+    void createOrder_SameKeyDifferentBody_Rejected() {
+        UUID id = product(10);
+        String key = UUID.randomUUID().toString();
+        orderIdempotencyService.createOrder(user, request(id, 1), key);
+
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder(user, request(id, 3), key))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should report a conflict while another submission holds the key")
+    void createOrder_KeyInProgress_Conflict() {
+        UUID id = product(10);
+        String key = UUID.randomUUID().toString();
+        orderIdempotencyService.createOrder(user, request(id, 1), key);
+        String requestHash = keyRepository.findByUserIdAndIdempotencyKey(user.getId(), key).orElseThrow()
+                .getRequestHash();
+        // A fresh claim without an order, as left by a submission still running
+        keyRepository.saveAndFlush(new OrderIdempotencyKey(user.getId(), "pending-" + key, requestHash));
+
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder(user, request(id, 1), "pending-" + key))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should free the key when the submission fails")
+    void createOrder_Failure_ReleasesKey() {
+        UUID id = product(1);
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> orderIdempotencyService.createOrder(user, request(id, 2), key))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(keyRepository.findByUserIdAndIdempotencyKey(user.getId(), key)).isEmpty();
+
+        Product product = productRepository.findById(id).orElseThrow();
+        product.setStockQuantity(5);
+        productRepository.save(product);
+        assertThat(orderIdempotencyService.createOrder(user, request(id, 2), key).replayed()).isFalse();
+    }
+
+    private UUID product(int stock) {
+        return fixtures.product(stock).getId();
+    }
+
+    private static CreateOrderRequest request(UUID productId, int quantity) {
+        return orderRequest(line(productId, quantity));
+    }
+}
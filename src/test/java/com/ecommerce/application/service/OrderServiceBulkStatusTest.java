@@ -0,0 +1,130 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.BulkOrderStatusResponse;
+import com.ecommerce.application.dto.order.BulkOrderStatusResponse.Outcome;
+import com.ecommerce.domain.order.Order;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.order.OrderStatusView;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifies bulk order status transitions.
+ */
+class OrderServiceBulkStatusTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private User user;
+    private UUID productId;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+        productId = fixtures.product(1000).getId();
+    }
+
+    @Test
+    @DisplayName("Should move eligible orders and report the others per order")
+    void bulkUpdateStatus_ReportsPerOrderOutcome() {
+        UUID confirmed = order(OrderStatus.CONFIRMED);
+        UUID pending = order(OrderStatus.PENDING);
+        UUID processing = order(OrderStatus.PROCESSING);
+        UUID missing = UUID.randomUUID();
+
+        BulkOrderStatusResponse response = orderService.bulkUpdateStatus(
+                List.of(confirmed, pending, processing, missing, confirmed), OrderStatus.PROCESSING);
+
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BulkOrderStatusResponse.Result::outcome)
+                .containsExactly(Outcome.UPDATED, Outcome.INVALID_TRANSITION, Outcome.UNCHANGED, Outcome.NOT_FOUND);
+        assertThat(response.getResults().get(0).previousStatus()).isEqualTo("CONFIRMED");
+        assertThat(status(confirmed)).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(status(pending)).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should update orders across several chunks and stamp deliveries")
+    void bulkUpdateStatus_ManyOrders_UpdatesAll() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 520; i++) {
+            Order order = new Order();
+            order.setOrderNumber("BULK-" + UUID.randomUUID());
+            order.setUser(user);
+            order.setStatus(OrderStatus.SHIPPED);
+            order.setSubtotal(BigDecimal.TEN);
+            order.setTotal(BigDecimal.TEN);
+            orders.add(order);
+        }
+        List<UUID> shipped = orderRepository.saveAll(orders).stream().map(Order::getId).toList();
+
+        BulkOrderStatusResponse response = orderService.bulkUpdateStatus(shipped, OrderStatus.DELIVERED);
+
+        assertThat(response.getUpdated()).isEqualTo(520);
+        Order delivered = orderRepository.findById(shipped.get(519)).orElseThrow();
+        assertThat(delivered.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(delivered.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse bulk transitions that move stock")
+    void bulkUpdateStatus_StockMovingTarget_Rejected() {
+        UUID pending = order(OrderStatus.PENDING);
+
+        assertThatThrownBy(() -> orderService.bulkUpdateStatus(List.of(pending), OrderStatus.CANCELLED))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(status(pending)).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should not report orders that vanished during the update as updated")
+    void bulkUpdateStatus_OrdersVanishConcurrently_NotFound() {
+        OrderRepository repository = mock(OrderRepository.class);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(repository.findStatusesByIdIn(any()))
+                .thenReturn(List.of(new OrderStatusView(first, OrderStatus.SHIPPED),
+                        new OrderStatusView(second, OrderStatus.SHIPPED)))
+                .thenReturn(List.of());
+        when(repository.transitionStatus(any(), any(), any(), any(), any())).thenReturn(0);
+        OrderService service = new OrderService(repository, null, null, null, null, null);
+
+        BulkOrderStatusResponse response = service.bulkUpdateStatus(List.of(first, second), OrderStatus.DELIVERED);
+
+        assertThat(response.getUpdated()).isZero();
+        assertThat(response.getResults()).extracting(BulkOrderStatusResponse.Result::outcome)
+                .containsExactly(Outcome.NOT_FOUND, Outcome.NOT_FOUND);
+    }
+
+    private OrderStatus status(UUID orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+
+    private UUID order(OrderStatus status) {
+        UUID id = UUID.fromString(orderService.createOrder(user, orderRequest(line(productId, 1))).getId());
+        if (status != OrderStatus.PENDING) {
+            orderService.updateOrderStatus(id, status);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.domain.product.ProductImage;
+import com.ecommerce.domain.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that creating an order issues a fixed number of statements regardless of its line count.
+ */
+class OrderServiceQueryCountTest extends BaseServiceIntegrationTest {
+
+    private static final int PRODUCT_COUNT = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+    private final List<UUID> products = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            String url = "https://example.com/b2b-" + i + ".jpg";
+            products.add(fixtures.product(100, "10.00", product -> {
+                ProductImage image = new ProductImage();
+                image.setUrl(url);
+                image.setPrimary(true);
+                product.addImage(image);
+            }).getId());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should issue the same number of statements for a 5-line and a 50-line order")
+    void createOrder_StatementCount_IndependentOfLineCount() {
+        long small = statementsFor(5);
+        long large = statementsFor(PRODUCT_COUNT);
+
+        assertThat(large).isEqualTo(small);
+        // product load, order insert, batched item insert, outbox insert; stock updates go out as one JDBC batch
+        assertThat(large).isLessThanOrEqualTo(4);
+    }
+
+    private long statementsFor(int lines) {
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            items.add(line(products.get(i), 1));
+        }
+
+        statistics.clear();
+        OrderDto order = orderService.createOrder(user, orderRequest(items));
+        assertThat(order.getItems()).hasSize(lines)
+                .allSatisfy(item -> assertThat(item.getProductImage()).startsWith("https://example.com/b2b-"));
+        return statistics.getPrepareStatementCount();
+    }
+}
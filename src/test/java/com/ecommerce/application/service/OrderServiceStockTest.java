@@ -0,0 +1,134 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.OrderDto;
+import com.ecommerce.domain.exception.InsufficientStockException;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies stock reservation, confirmation and release through OrderService.
+ */
+class OrderServiceStockTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @Test
+    @DisplayName("Should reserve stock for every line of an order")
+    void createOrder_ReservesStock() {
+        UUID first = product(10);
+        UUID second = product(10);
+
+        orderService.createOrder(user, orderRequest(line(first, 3), line(second, 2), line(first, 1)));
+
+        assertThat(reserved(first)).isEqualTo(4);
+        assertThat(reserved(second)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should report every short line and reserve nothing when stock is insufficient")
+    void createOrder_InsufficientStock_ReportsLinesAndRollsBack() {
+        UUID plenty = product(10);
+        UUID scarce = product(1);
+        UUID empty = product(0);
+
+        assertThatThrownBy(() -> orderService.createOrder(user,
+                orderRequest(line(plenty, 2), line(scarce, 2), line(empty, 1))))
+                .isInstanceOfSatisfying(InsufficientStockException.class, ex -> assertThat(ex.getLines())
+                        .extracting(InsufficientStockException.Line::availableQuantity)
+                        .containsExactlyInAnyOrder(1, 0));
+
+        assertThat(reserved(plenty)).isZero();
+        assertThat(reserved(scarce)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never oversell when many orders compete for the same product")
+    void createOrder_Concurrent_NeverOversells() throws Exception {
+        UUID id = product(5);
+        int buyers = 12;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        int succeeded = 0;
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderService.createOrder(user, orderRequest(line(id, 1)));
+                        return true;
+                    } catch (InsufficientStockException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(succeeded).isEqualTo(5);
+        assertThat(reserved(id)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should move reserved stock to sales on confirm and back to available on cancel")
+    void confirmAndCancel_UpdateStock() {
+        UUID confirmed = product(10);
+        UUID cancelled = product(10);
+        OrderDto toConfirm = orderService.createOrder(user, orderRequest(line(confirmed, 3)));
+        OrderDto toCancel = orderService.createOrder(user, orderRequest(line(cancelled, 4)));
+
+        orderService.confirmOrder(UUID.fromString(toConfirm.getId()));
+        orderService.cancelOrder(UUID.fromString(toCancel.getId()), "changed mind");
+
+        Product sold = productRepository.findById(confirmed).orElseThrow();
+        assertThat(sold.getStockQuantity()).isEqualTo(7);
+        assertThat(sold.getReservedQuantity()).isZero();
+        assertThat(sold.getTotalSales()).isEqualTo(3);
+        assertThat(reserved(cancelled)).isZero();
+    }
+
+    private int reserved(UUID productId) {
+        return productRepository.findById(productId).orElseThrow().getReservedQuantity();
+    }
+
+    private UUID product(int stock) {
+        return fixtures.product(stock).getId();
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.TestFixtures;
+import com.ecommerce.application.dto.product.CreateProductRequest;
+import com.ecommerce.application.dto.product.ProductDto;
+import com.ecommerce.domain.exception.EntityNotFoundException;
+import com.ecommerce.domain.product.Product;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies targeted cache eviction, write-through and secondary-key caching in ProductService,
+ * and that writes reach the cache and search index only on commit.
+ */
+class ProductServiceCacheTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        seller = fixtures.user();
+        cacheManager.getCache("products").clear();
+        cacheManager.getCache("featured-products").clear();
+        cacheManager.getCache("product-slugs").clear();
+    }
+
+    @Test
+    @DisplayName("Should write new products through to the products cache")
+    void createProduct_WritesThrough() {
+        ProductDto product = create(false);
+
+        Cache.ValueWrapper cached = cacheManager.getCache("products").get(UUID.fromString(product.getId()));
+        assertThat(cached).isNotNull();
+        assertThat(((ProductDto) cached.get()).getName()).isEqualTo(product.getName());
+    }
+
+    @Test
+    @DisplayName("Should refresh the cached product and keep the featured list on a non-featured stock update")
+    void updateStock_NonFeatured_KeepsFeaturedList() {
+        UUID id = UUID.fromString(create(false).getId());
+        productService.publishProduct(id);
+        productService.getFeaturedProducts();
+        productService.getProductById(id);
+
+        productService.updateStock(id, 42);
+
+        assertThat(((ProductDto) cacheManager.getCache("products").get(id).get()).getStockQuantity()).isEqualTo(42);
+        assertThat(cacheManager.getCache("featured-products").get(SimpleKey.EMPTY)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should evict the featured list when a featured product is published")
+    void publishProduct_Featured_EvictsFeaturedList() {
+        UUID id = UUID.fromString(create(true).getId());
+        productService.getFeaturedProducts();
+
+        productService.publishProduct(id);
+
+        assertThat(cacheManager.getCache("featured-products").get(SimpleKey.EMPTY)).isNull();
+        assertThat(productService.getFeaturedProducts()).anyMatch(product -> product.getId().equals(id.toString()));
+    }
+
+    @Test
+    @DisplayName("Should leave the cache and search index untouched when a publish rolls back")
+    void publishProduct_RolledBack_NotCachedOrIndexed() {
+        ProductDto product = create(false);
+        UUID id = UUID.fromString(product.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            productService.publishProduct(id);
+            status.setRollbackOnly();
+        });
+
+        assertThat(((ProductDto) cacheManager.getCache("products").get(id).get()).getStatus()).isEqualTo("DRAFT");
+        assertThat(productService.searchProducts(product.getName(), PageRequest.of(0, 20)).getContent())
+                .noneMatch(summary -> summary.getId().equals(product.getId()));
+    }
+
+    @Test
+    @DisplayName("Should serve a warm slug lookup without touching the database")
+    void getProductBySlug_Warm_NoStatements() {
+        ProductDto product = create(false);
+        productService.getProductBySlug(product.getSlug());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ProductDto cached = productService.getProductBySlug(product.getSlug());
+
+        assertThat(cached.getId()).isEqualTo(product.getId());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop a stale slug entry after the product's slug changes")
+    void getProductBySlug_AfterSlugChange_ResolvesNewSlugOnly() {
+        ProductDto product = create(false);
+        UUID id = UUID.fromString(product.getId());
+        String oldSlug = product.getSlug();
+        productService.getProductBySlug(oldSlug);
+
+        Product entity = productRepository.findById(id).orElseThrow();
+        entity.setSlug(oldSlug + "-renamed");
+        productRepository.save(entity);
+        productService.updateStock(id, 3);
+
+        assertThatThrownBy(() -> productService.getProductBySlug(oldSlug))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(cacheManager.getCache("product-slugs").get(oldSlug)).isNull();
+        assertThat(productService.getProductBySlug(oldSlug + "-renamed").getId()).isEqualTo(product.getId());
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated unknown slug from the negative cache entry")
+    void getProductBySlug_Unknown_QueriesOnce() {
+        String slug = "no-such-product-" + UUID.randomUUID();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThatThrownBy(() -> productService.getProductBySlug(slug)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThatThrownBy(() -> productService.getProductBySlug(slug)).isInstanceOf(EntityNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a slug entry whose product has been deleted")
+    void getProductBySlug_DeletedProduct_EvictsSlug() {
+        ProductDto product = create(false);
+        UUID id = UUID.fromString(product.getId());
+        productService.getProductBySlug(product.getSlug());
+        productRepository.deleteById(id);
+        cacheManager.getCache("products").evict(id);
+
+        assertThatThrownBy(() -> productService.getProductBySlug(product.getSlug()))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(cacheManager.getCache("product-slugs").get(product.getSlug())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should resolve products by SKU")
+    void getProductBySku_ReturnsProduct() {
+        ProductDto product = create(false);
+
+        assertThat(productService.getProductBySku(product.getSku()).getId()).isEqualTo(product.getId());
+    }
+
+    private ProductDto create(boolean featured) {
+        String suffix = TestFixtures.suffix();
+        CreateProductRequest request = new CreateProductRequest();
+        request.setName("Cache Product " + suffix);
+        request.setSku("CACHE-" + suffix);
+        request.setPrice(new BigDecimal("19.99"));
+        request.setStockQuantity(10);
+        request.setTags(new HashSet<>());
+        request.setFeatured(featured);
+        ProductDto product = productService.createProduct(request, seller);
+        fixtures.trackProduct(UUID.fromString(product.getId()));
+        return product;
+    }
+}
@@ -0,0 +1,127 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.product.ProductSummaryDto;
+import com.ecommerce.domain.product.Category;
+import com.ecommerce.domain.product.ProductImage;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that product listings issue a fixed number of statements per page.
+ */
+class ProductServiceQueryCountTest extends BaseServiceIntegrationTest {
+
+    private static final int PRODUCT_COUNT = 25;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Category category;
+    private User seller;
+
+    @BeforeEach
+    void setUp() {
+        category = fixtures.category();
+        seller = fixtures.user();
+
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            String url = "https://example.com/" + i + ".jpg";
+            fixtures.product(5, "10.00", product -> {
+                product.setCategory(category);
+                product.setSeller(seller);
+                product.setTags(Set.of("tag-a", "tag-b"));
+                ProductImage image = new ProductImage();
+                image.setUrl(url);
+                product.addImage(image);
+            });
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should issue the same number of statements regardless of page size")
+    void getAllProducts_StatementCount_IndependentOfPageSize() {
+        long smallPage = statementsFor(5);
+        long largePage = statementsFor(20);
+
+        assertThat(largePage).isEqualTo(smallPage);
+        assertThat(largePage).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should load product details with one statement for the product and one for its tags")
+    void getProductById_LoadsDetailsInTwoStatements() {
+        UUID id = productRepository.findByCategoryId(category.getId(), PageRequest.of(0, 1)).getContent().get(0).getId();
+
+        statistics.clear();
+        productService.getProductById(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return each image once for a product with several images and tags")
+    void getProductById_SeveralImagesAndTags_NoDuplicates() {
+        var product = fixtures.product(5, "10.00", p -> {
+            p.setTags(Set.of("tag-a", "tag-b", "tag-c"));
+            for (int i = 0; i < 2; i++) {
+                ProductImage image = new ProductImage();
+                image.setUrl("https://example.com/detail-" + i + ".jpg");
+                p.addImage(image);
+            }
+        });
+
+        var byId = productService.getProductById(product.getId());
+        var bySlug = productService.getProductBySlug(product.getSlug());
+
+        assertThat(byId.getImages()).hasSize(2);
+        assertThat(byId.getTags()).hasSize(3);
+        assertThat(bySlug.getImages()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should serve listings from projections without hydrating entities")
+    void listings_UseProjections() {
+        statistics.clear();
+        var byCategory = productService.getProductsByCategory(category.getId(), PageRequest.of(0, 10));
+        var firstPage = productService.getAllProducts("", 10);
+        var nextPage = productService.getAllProducts(firstPage.getNextCursor(), 10);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(byCategory.getContent()).hasSize(10)
+                .allSatisfy(product -> assertThat(product.getPrimaryImageUrl()).startsWith("https://example.com/"));
+        assertThat(nextPage.getContent()).hasSize(10)
+                .extracting(ProductSummaryDto::getId)
+                .doesNotContainAnyElementsOf(firstPage.getContent().stream().map(ProductSummaryDto::getId).toList());
+    }
+
+    private long statementsFor(int pageSize) {
+        statistics.clear();
+        var page = productService.getAllProducts(PageRequest.of(0, pageSize, Sort.by("createdAt").descending()));
+        assertThat(page.getContent()).hasSize(pageSize);
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.BaseServiceIntegrationTest;
+import com.ecommerce.application.dto.order.CreateOrderRequest;
+import com.ecommerce.domain.order.OrderEvent;
+import com.ecommerce.domain.order.OrderEventType;
+import com.ecommerce.domain.order.OrderStatus;
+import com.ecommerce.domain.user.User;
+import com.ecommerce.infrastructure.repository.OrderEventRepository;
+import com.ecommerce.infrastructure.repository.OrderRepository;
+import com.ecommerce.infrastructure.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.ecommerce.TestFixtures.line;
+import static com.ecommerce.TestFixtures.orderRequest;
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Verifies that abandoned pending orders are cancelled and their reservations released.
+ */
+class ReservationExpirySweeperTest extends BaseServiceIntegrationTest {
+
+    @Autowired
+    private ReservationExpirySweeper sweeper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderEventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = fixtures.user();
+    }
+
+    @Test
+    @DisplayName("Should cancel expired pending orders and release their stock")
+    void sweep_ExpiredOrders_ReleasesStock() {
+        UUID first = product(100);
+        UUID second = product(100);
+        UUID expired = order(first, 2, second, 1);
+        UUID alsoExpired = order(first, 3, second, 4);
+        UUID fresh = order(first, 5, second, 5);
+        backdate(expired, alsoExpired);
+        double reclaimedBefore = meterRegistry.counter("inventory.reservations.reclaimed").count();
+
+        sweeper.sweep();
+
+        assertThat(orderRepository.findById(expired).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(alsoExpired).orElseThrow().getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        assertThat(orderRepository.findById(fresh).orElseThrow().getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(reserved(first)).isEqualTo(5);
+        assertThat(reserved(second)).isEqualTo(5);
+        assertThat(meterRegistry.counter("inventory.reservations.reclaimed").count() - reclaimedBefore)
+                .isEqualTo(10);
+        assertThat(eventRepository.findByOrderId(expired))
+                .filteredOn(event -> event.getType() == OrderEventType.CANCELLED)
+                .singleElement().satisfies(event -> {
+                    assertThat(event.getCustomerEmail()).isEqualTo(user.getEmail());
+                    assertThat(event.getReason()).isEqualTo("Reservation expired");
+                });
+        assertThat(eventRepository.findByOrderId(fresh)).extracting(OrderEvent::getType)
+                .doesNotContain(OrderEventType.CANCELLED);
+    }
+
+    @Test
+    @DisplayName("Should work through more expired orders than one chunk holds")
+    void expirePendingOrders_Chunks() {
+        UUID id = product(1000);
+        List<UUID> orders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orders.add(order(id, 1, null, 0));
+        }
+        backdate(orders.toArray(UUID[]::new));
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(30);
+
+        assertThat(orderService.expirePendingOrders(cutoff, 3)).isEqualTo(new OrderService.ExpiredReservations(3, 3));
+        assertThat(orderService.expirePendingOrders(cutoff, 3)).isEqualTo(new OrderService.ExpiredReservations(2, 2));
+        assertThat(orderService.expirePendingOrders(cutoff, 3)).isEqualTo(new OrderService.ExpiredReservations(0, 0));
+        assertThat(reserved(id)).isZero();
+    }
+
+    private void backdate(UUID... orderIds) {
+        for (UUID orderId : orderIds) {
+            jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+                    LocalDateTime.now().minusHours(2), orderId);
+        }
+    }
+
+    private int reserved(UUID productId) {
+        return productRepository.findById(productId).orElseThrow().getReservedQuantity();
+    }
+
+    private UUID order(UUID firstProduct, int firstQuantity, UUID secondProduct, int secondQuantity) {
+        List<CreateOrderRequest.OrderItemRequest> items = new ArrayList<>();
+        items.add(line(firstProduct, firstQuantity));
+        if (secondProduct != null) {
+            items.add(line(secondProduct, secondQuantity));
+        }
+        return UUID.fromString(orderService.createOrder(user, orderRequest(items)).getId());
+    }
+
+    private UUID product(int stock) {
+        return fixtures.product(stock).getId();
+    }
+}
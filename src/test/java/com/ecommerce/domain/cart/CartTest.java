@@ -0,0 +1,75 @@
+package com.ecommerce.domain.cart;
+
+import com.ecommerce.domain.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for Cart line lookup and the indexes behind it.
+ */
+class CartTest {
+
+    private final Cart cart = new Cart();
+
+    @Test
+    @DisplayName("Should merge a second add of the same product into the existing line")
+    void addItem_SameProduct_MergesQuantity() {
+        Product product = product();
+        cart.addItem(item(product, 2));
+        cart.addItem(item(product, 3));
+
+        assertThat(cart.getItems()).hasSize(1);
+        assertThat(cart.findItemByProduct(product.getId()).getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should find lines by id and product, and forget them once removed")
+    void findItem_TracksAddAndRemove() {
+        CartItem first = item(product(), 1);
+        CartItem second = item(product(), 1);
+        cart.addItem(first);
+        cart.addItem(second);
+        first.setId(UUID.randomUUID());
+        second.setId(UUID.randomUUID());
+
+        assertThat(cart.findItem(second.getId())).isSameAs(second);
+
+        cart.removeItem(second);
+
+        assertThat(cart.findItem(second.getId())).isNull();
+        assertThat(cart.findItemByProduct(second.getProduct().getId())).isNull();
+        assertThat(cart.findItem(first.getId())).isSameAs(first);
+    }
+
+    @Test
+    @DisplayName("Should drop indexed lines when the cart is cleared")
+    void clear_ResetsIndexes() {
+        CartItem item = item(product(), 1);
+        cart.addItem(item);
+        assertThat(cart.findItemByProduct(item.getProduct().getId())).isSameAs(item);
+
+        cart.clear();
+
+        assertThat(cart.findItemByProduct(item.getProduct().getId())).isNull();
+        assertThat(cart.isEmpty()).isTrue();
+    }
+
+    private static Product product() {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setPrice(new BigDecimal("10.00"));
+        return product;
+    }
+
+    private static CartItem item(Product product, int quantity) {
+        CartItem item = new CartItem();
+        item.setProduct(product);
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.domain.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for UUIDv7 generation.
+ */
+class UuidV7GeneratorTest {
+
+    /** Unsigned byte order, as PostgreSQL compares uuid values. */
+    private static final Comparator<UUID> BYTE_ORDER = Comparator
+            .comparing((UUID uuid) -> uuid.getMostSignificantBits(), Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    @Test
+    @DisplayName("Should produce version 7, IETF variant UUIDs carrying the current time")
+    void next_HasVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+        assertThat(uuid.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    @DisplayName("Should produce strictly increasing UUIDs in byte order")
+    void next_IsMonotonic() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7Generator.next();
+            assertThat(BYTE_ORDER.compare(next, previous)).isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should never repeat a UUID across threads")
+    void next_Concurrent_Unique() {
+        List<CompletableFuture<List<UUID>>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<UUID> ids = new ArrayList<>();
+                for (int i = 0; i < 50_000; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+                return ids;
+            }));
+        }
+
+        Set<UUID> all = new HashSet<>();
+        futures.forEach(future -> all.addAll(future.join()));
+        assertThat(all).hasSize(8 * 50_000);
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.domain.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Compares insert throughput and primary key index size of random (v4) and time-ordered (v7) UUIDs
+ * on PostgreSQL. Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UuidV7InsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidV7InsertBenchmarkTest.class);
+
+    private static final int ROWS = 200_000;
+    private static final int BATCH_SIZE = 1_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Test
+    @DisplayName("Should build a smaller primary key index with UUIDv7 than with random UUIDs")
+    void insert_UuidV7_SmallerIndexThanRandom() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword())) {
+            Result random = run(connection, "ids_v4", UUID::randomUUID);
+            Result ordered = run(connection, "ids_v7", UuidV7Generator::next);
+
+            log.info("UUIDv4: {} rows/s, pkey {} bytes", random.rowsPerSecond(), random.indexBytes());
+            log.info("UUIDv7: {} rows/s, pkey {} bytes", ordered.rowsPerSecond(), ordered.indexBytes());
+            // Right-most page splits leave pages ~90% full; random splits leave them ~70% full
+            assertThat(ordered.indexBytes()).isLessThan(random.indexBytes());
+        }
+    }
+
+    private Result run(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, created_at TIMESTAMP NOT NULL "
+                    + "DEFAULT CURRENT_TIMESTAMP, payload VARCHAR(64))");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, payload) VALUES (?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setObject(1, ids.get());
+                insert.setString(2, "row-" + i);
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+
+        try (Statement statement = connection.createStatement();
+                ResultSet size = statement.executeQuery("SELECT pg_relation_size('" + table + "_pkey')")) {
+            size.next();
+            return new Result(ROWS * 1_000_000_000L / elapsedNanos, size.getLong(1));
+        }
+    }
+
+    private record Result(long rowsPerSecond, long indexBytes) {
+    }
+}
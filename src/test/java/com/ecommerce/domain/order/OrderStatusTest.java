@@ -0,0 +1,39 @@
+package com.ecommerce.domain.order;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the order lifecycle rules.
+ */
+class OrderStatusTest {
+
+    @Test
+    @DisplayName("Should follow the fulfillment path")
+    void canTransitionTo_FulfillmentPath() {
+        assertThat(OrderStatus.CONFIRMED.canTransitionTo(OrderStatus.PROCESSING)).isTrue();
+        assertThat(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.SHIPPED)).isTrue();
+        assertThat(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderStatus.PENDING.canTransitionTo(OrderStatus.SHIPPED)).isFalse();
+        assertThat(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.PROCESSING)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not leave terminal statuses")
+    void canTransitionTo_TerminalStatuses() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertThat(OrderStatus.REFUNDED.canTransitionTo(target)).isFalse();
+            assertThat(OrderStatus.FAILED.canTransitionTo(target)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should list the statuses a target is reachable from")
+    void predecessorsOf_Delivered() {
+        assertThat(OrderStatus.predecessorsOf(OrderStatus.DELIVERED))
+                .containsExactlyInAnyOrder(OrderStatus.SHIPPED, OrderStatus.OUT_FOR_DELIVERY,
+                        OrderStatus.RETURN_REQUESTED);
+    }
+}
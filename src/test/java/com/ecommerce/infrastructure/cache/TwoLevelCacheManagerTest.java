@@ -0,0 +1,211 @@
+package com.ecommerce.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the two-level (local + Redis) cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    @Mock
+    private CacheInvalidationPublisher publisher;
+
+    private final ConcurrentMapCacheManager remoteCacheManager = new ConcurrentMapCacheManager("products");
+
+    @Test
+    @DisplayName("Should populate the local tier from a remote hit")
+    void get_RemoteHit_PopulatesLocalTier() {
+        UUID id = UUID.randomUUID();
+        remoteCacheManager.getCache("products").put(id, "product");
+        TwoLevelCache cache = cache(0);
+
+        assertThat(cache.get(id).get()).isEqualTo("product");
+        assertThat(cache.get(id).get()).isEqualTo("product");
+        assertThat(cache.getRemoteHits()).isEqualTo(1);
+        assertThat(cache.getLocalHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict both tiers and broadcast the eviction")
+    void evict_ClearsBothTiersAndPublishes() {
+        UUID id = UUID.randomUUID();
+        TwoLevelCache cache = cache(0);
+        cache.put(id, "product");
+
+        cache.evict(id);
+
+        assertThat(cache.get(id)).isNull();
+        assertThat(remoteCacheManager.getCache("products").get(id)).isNull();
+        // once for the put, once for the evict
+        verify(publisher, times(2)).publishEvict("products", id.toString());
+    }
+
+    @Test
+    @DisplayName("Should apply writes made in a transaction only after it commits")
+    void put_InTransaction_AppliedAfterCommit() {
+        UUID id = UUID.randomUUID();
+        TwoLevelCache cache = cache(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put(id, "product");
+
+            assertThat(cache.get(id)).isNull();
+            verifyNoInteractions(publisher);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(id).get()).isEqualTo("product");
+        verify(publisher).publishEvict("products", id.toString());
+    }
+
+    @Test
+    @DisplayName("Should discard writes made in a transaction that rolls back")
+    void put_InRolledBackTransaction_Discarded() {
+        UUID id = UUID.randomUUID();
+        TwoLevelCache cache = cache(0);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.put(id, "product");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(id)).isNull();
+        assertThat(remoteCacheManager.getCache("products").get(id)).isNull();
+        verifyNoInteractions(publisher);
+    }
+
+    @Test
+    @DisplayName("Should drop only the local copy when another node evicts")
+    void onMessage_FromOtherNode_EvictsLocalTier() {
+        when(publisher.getNodeId()).thenReturn("self");
+        UUID id = UUID.randomUUID();
+        TwoLevelCacheManager cacheManager = cacheManager(0);
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("products");
+        cache.put(id, "product");
+
+        cacheManager.onMessage(message("other|E|products|" + id), null);
+
+        assertThat(cache.get(id).get()).isEqualTo("product");
+        assertThat(cache.getLocalHits()).isZero();
+        assertThat(cache.getRemoteHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should ignore its own invalidation messages")
+    void onMessage_FromSelf_IsIgnored() {
+        when(publisher.getNodeId()).thenReturn("self");
+        TwoLevelCacheManager cacheManager = cacheManager(0);
+        TwoLevelCache cache = (TwoLevelCache) cacheManager.getCache("products");
+        cache.put("key", "product");
+
+        cacheManager.onMessage(message("self|C|products|"), null);
+
+        assertThat(cache.get("key").get()).isEqualTo("product");
+        assertThat(cache.getLocalHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run a single load for concurrent misses on the same key")
+    void get_ConcurrentMisses_LoadOnce() throws Exception {
+        TwoLevelCache cache = cache(0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("hot", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "value";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reload a computed entry early when the refresh window is reached")
+    void get_EarlyRefresh_ReloadsBeforeExpiry() {
+        TwoLevelCache cache = cache(1e12);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", () -> slowLoad(loads));
+        cache.get("key", () -> slowLoad(loads));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getEarlyRefreshes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never refresh early when disabled")
+    void get_EarlyRefreshDisabled_ServesCachedValue() {
+        TwoLevelCache cache = cache(0);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("key", () -> slowLoad(loads));
+        cache.get("key", () -> slowLoad(loads));
+
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private String slowLoad(AtomicInteger loads) throws InterruptedException {
+        loads.incrementAndGet();
+        Thread.sleep(1);
+        return "value";
+    }
+
+    private TwoLevelCache cache(double earlyRefreshBeta) {
+        return (TwoLevelCache) cacheManager(earlyRefreshBeta).getCache("products");
+    }
+
+    private TwoLevelCacheManager cacheManager(double earlyRefreshBeta) {
+        return new TwoLevelCacheManager(remoteCacheManager, publisher, name -> Duration.ofMinutes(5), 100,
+                earlyRefreshBeta, null, List.of("products"));
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("cache:invalidation".getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ecommerce.infrastructure.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the Snowflake id generator.
+ */
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("Should never repeat an id across threads and nodes")
+    void nextId_ConcurrentNodes_NoCollisions() throws Exception {
+        int nodes = 4;
+        int threadsPerNode = 4;
+        int idsPerThread = 250_000;
+        List<SnowflakeIdGenerator> generators = new ArrayList<>();
+        for (int node = 0; node < nodes; node++) {
+            generators.add(new SnowflakeIdGenerator(node, Clock.systemUTC()));
+        }
+        long[] ids = new long[nodes * threadsPerNode * idsPerThread];
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < nodes * threadsPerNode; t++) {
+                SnowflakeIdGenerator generator = generators.get(t % nodes);
+                int offset = t * idsPerThread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long previous = 0;
+                    for (int i = 0; i < idsPerThread; i++) {
+                        long id = generator.nextId();
+                        assertThat(id).isGreaterThan(previous);
+                        ids[offset + i] = previous = id;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Arrays.sort(ids);
+        for (int i = 1; i < ids.length; i++) {
+            assertThat(ids[i]).as("duplicate id").isNotEqualTo(ids[i - 1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep ids increasing when the clock steps back")
+    void nextId_ClockStepsBack_StaysMonotonic() {
+        MutableClock clock = new MutableClock(SnowflakeIdGenerator.EPOCH_MILLIS + 10_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, clock);
+
+        long before = generator.nextId();
+        clock.set(SnowflakeIdGenerator.EPOCH_MILLIS + 5_000);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.nodeOf(after)).isEqualTo(7);
+        assertThat(SnowflakeIdGenerator.timestampOf(after)).isEqualTo(SnowflakeIdGenerator.EPOCH_MILLIS + 10_000);
+    }
+
+    @Test
+    @DisplayName("Should borrow the next millisecond when the sequence is exhausted")
+    void nextId_SequenceExhausted_AdvancesTimestamp() {
+        MutableClock clock = new MutableClock(SnowflakeIdGenerator.EPOCH_MILLIS + 1_000);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock);
+
+        long last = 0;
+        for (int i = 0; i <= 4096; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(last);
+            last = id;
+        }
+
+        assertThat(SnowflakeIdGenerator.timestampOf(last)).isEqualTo(SnowflakeIdGenerator.EPOCH_MILLIS + 1_001);
+    }
+
+    @Test
+    @DisplayName("Should encode prefixed ids that sort in generation order")
+    void nextId_Prefixed_SortsInOrder() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(3, Clock.systemUTC());
+        String[] numbers = new String[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = generator.nextId("ORD-");
+        }
+
+        assertThat(numbers[0]).startsWith("ORD-").hasSize(17);
+        String[] sorted = numbers.clone();
+        Arrays.sort(sorted);
+        assertThat(sorted).containsExactly(numbers);
+        assertThat(SnowflakeIdGenerator.encode("", Long.MAX_VALUE)).isEqualTo("7ZZZZZZZZZZZZ");
+    }
+
+    @Test
+    @DisplayName("Should reject node ids outside the 10-bit range")
+    void constructor_InvalidNode_Throws() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024, Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1, Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis;
+
+        MutableClock(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        void set(long value) {
+            millis.set(value);
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
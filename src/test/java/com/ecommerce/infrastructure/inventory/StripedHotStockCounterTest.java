@@ -0,0 +1,97 @@
+package com.ecommerce.infrastructure.inventory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the in-process striped stock counters.
+ */
+class StripedHotStockCounterTest {
+
+    private final StripedHotStockCounter counter = new StripedHotStockCounter(8);
+    private final UUID productId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should seed a missing counter once and take from it")
+    void tryTake_SeedsOnFirstUse() {
+        assertThat(counter.tryTake(productId, 3, () -> 10)).isTrue();
+        assertThat(counter.tryTake(productId, 3, () -> {
+            throw new AssertionError("seeded twice");
+        })).isTrue();
+
+        assertThat(counter.available(productId)).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should gather a large take across stripes and refuse one that exceeds the total")
+    void tryTake_GathersAcrossStripes() {
+        assertThat(counter.tryTake(productId, 9, () -> 10)).isTrue();
+        assertThat(counter.tryTake(productId, 2, () -> 0)).isFalse();
+        assertThat(counter.available(productId)).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should block takes while removals exceed the available units")
+    void add_Negative_RecordsDeficit() {
+        counter.tryTake(productId, 1, () -> 5);
+
+        counter.add(productId, -6);
+        assertThat(counter.available(productId)).hasValue(-2);
+        assertThat(counter.tryTake(productId, 1, () -> 0)).isFalse();
+
+        counter.add(productId, 3);
+        assertThat(counter.tryTake(productId, 1, () -> 0)).isTrue();
+        assertThat(counter.available(productId)).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should ignore additions for products without a counter")
+    void add_WithoutCounter_IsIgnored() {
+        assertThat(counter.add(productId, 5)).isFalse();
+        assertThat(counter.available(productId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should never hand out more units than it holds under contention")
+    void tryTake_Concurrent_NeverOversells() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        int taken = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int units = 0;
+                    for (int attempt = 0; attempt < 1_000; attempt++) {
+                        if (counter.tryTake(productId, 1 + attempt % 3, () -> 5_000)) {
+                            units += 1 + attempt % 3;
+                        }
+                    }
+                    return units;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                taken += result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(taken).isLessThanOrEqualTo(5_000);
+        assertThat(counter.available(productId)).hasValue(5_000 - taken);
+    }
+}